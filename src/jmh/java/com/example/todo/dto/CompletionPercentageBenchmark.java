@@ -0,0 +1,33 @@
+package com.example.todo.dto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress percentage of a todo list card.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionPercentageBenchmark {
+
+    @Param({"0", "10", "1000"})
+    public int totalTodos;
+
+    private final TodoListResponse response = new TodoListResponse();
+
+    @Setup
+    public void setUp() {
+        response.setTotalTodos(totalTodos);
+        response.setCompletedTodos(totalTodos / 3);
+    }
+
+    @Benchmark
+    public int getCompletionPercentage() {
+        return response.getCompletionPercentage();
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.todo.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The database queries behind the dashboard, collection versions and list pages, on an in-memory H2
+ * schema migrated to the latest version, with or without the access path indexes.
+ * The query plan of every query is printed during setup, so the runs show which plans changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryPlanBenchmark {
+
+    private static final String DASHBOARD_LISTS = """
+            SELECT id, name, created_at, updated_at, total_todos, completed_todos FROM todo_lists
+            ORDER BY updated_at DESC, id DESC FETCH FIRST 20 ROWS ONLY""";
+    private static final String DASHBOARD_LISTS_AFTER = """
+            SELECT id, name, created_at, updated_at, total_todos, completed_todos FROM todo_lists
+            WHERE updated_at < ? OR (updated_at = ? AND id < ?)
+            ORDER BY updated_at DESC, id DESC FETCH FIRST 20 ROWS ONLY""";
+    private static final String DASHBOARD_NOTES = """
+            SELECT id, title, created_at, updated_at FROM notes
+            ORDER BY updated_at DESC, id DESC FETCH FIRST 20 ROWS ONLY""";
+    private static final String LISTS_VERSION = "SELECT COUNT(id), MAX(updated_at) FROM todo_lists";
+    private static final String PENDING_TODOS = """
+            SELECT id, description, completed FROM todos
+            WHERE todo_list_id = ? AND completed = FALSE ORDER BY position, id""";
+
+    /** Access path indexes of the migrations: dropped after migrating, or kept. */
+    @Param({"none", "latest"})
+    public String indexes;
+
+    @Param({"10000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement dashboardLists;
+    private PreparedStatement dashboardListsAfter;
+    private PreparedStatement dashboardNotes;
+    private PreparedStatement listsVersion;
+    private PreparedStatement pendingTodos;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:query-plan-" + indexes + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, "sa", "");
+        if (indexes.equals("none")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX idx_todo_lists_updated_at");
+                statement.execute("DROP INDEX idx_notes_updated_at");
+                statement.execute("DROP INDEX idx_todos_list_completed_position");
+            }
+        }
+        seed();
+
+        printPlan(DASHBOARD_LISTS);
+        printPlan(DASHBOARD_LISTS_AFTER);
+        printPlan(DASHBOARD_NOTES);
+        printPlan(LISTS_VERSION);
+        printPlan(PENDING_TODOS);
+
+        LocalDateTime middle = LocalDateTime.now().minusSeconds(500_000);
+        dashboardLists = connection.prepareStatement(DASHBOARD_LISTS);
+        dashboardListsAfter = connection.prepareStatement(DASHBOARD_LISTS_AFTER);
+        dashboardListsAfter.setTimestamp(1, Timestamp.valueOf(middle));
+        dashboardListsAfter.setTimestamp(2, Timestamp.valueOf(middle));
+        dashboardListsAfter.setLong(3, Long.MAX_VALUE);
+        dashboardNotes = connection.prepareStatement(DASHBOARD_NOTES);
+        listsVersion = connection.prepareStatement(LISTS_VERSION);
+        pendingTodos = connection.prepareStatement(PENDING_TODOS);
+        pendingTodos.setLong(1, rows / 2);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int dashboardFirstPage() throws SQLException {
+        return drain(dashboardLists);
+    }
+
+    @Benchmark
+    public int dashboardNextPage() throws SQLException {
+        return drain(dashboardListsAfter);
+    }
+
+    @Benchmark
+    public int dashboardNotes() throws SQLException {
+        return drain(dashboardNotes);
+    }
+
+    @Benchmark
+    public int listsVersion() throws SQLException {
+        return drain(listsVersion);
+    }
+
+    @Benchmark
+    public int pendingTodos() throws SQLException {
+        return drain(pendingTodos);
+    }
+
+    private void seed() throws SQLException {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        connection.setAutoCommit(false);
+        try (PreparedStatement lists = connection.prepareStatement(
+                "INSERT INTO todo_lists (id, name, created_at, updated_at) VALUES (?, ?, ?, ?)");
+             PreparedStatement todos = connection.prepareStatement(
+                     "INSERT INTO todos (id, description, completed, position, todo_list_id) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement notes = connection.prepareStatement(
+                     "INSERT INTO notes (id, title, body, created_at, updated_at) VALUES (?, ?, ?, ?, ?)")) {
+            long todoId = 1;
+            for (int i = 1; i <= rows; i++) {
+                Timestamp updatedAt = Timestamp.valueOf(now.minusSeconds(random.nextInt(1_000_000)));
+                lists.setLong(1, i);
+                lists.setString(2, "List " + i);
+                lists.setTimestamp(3, updatedAt);
+                lists.setTimestamp(4, updatedAt);
+                lists.addBatch();
+
+                for (int j = 1; j <= 5; j++) {
+                    todos.setLong(1, todoId++);
+                    todos.setString(2, "Todo " + j);
+                    todos.setBoolean(3, random.nextBoolean());
+                    todos.setLong(4, j * 65536L);
+                    todos.setLong(5, i);
+                    todos.addBatch();
+                }
+
+                notes.setLong(1, i);
+                notes.setString(2, "Note " + i);
+                notes.setString(3, "Body of note " + i);
+                notes.setTimestamp(4, updatedAt);
+                notes.setTimestamp(5, updatedAt);
+                notes.addBatch();
+            }
+            lists.executeBatch();
+            todos.executeBatch();
+            notes.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private void printPlan(String sql) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                System.out.printf("%n[indexes %s] %s%n", indexes, plan.getString(1));
+            }
+        }
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.TodoListResponse;
+import com.example.todo.entities.Todo;
+import com.example.todo.entities.TodoList;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting a todo list entity with all its todos to a response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    public int todoCount;
+
+    private TodoList todoList;
+
+    @Setup
+    public void setUp() {
+        todoList = new TodoList("Benchmark list");
+        todoList.setId(1L);
+        todoList.setCreatedAt(LocalDateTime.now().minusDays(3));
+        todoList.setUpdatedAt(LocalDateTime.now());
+        for (int i = 0; i < todoCount; i++) {
+            Todo todo = new Todo("Todo number " + i, todoList);
+            todo.setId((long) i);
+            todo.setCompleted(i % 3 == 0);
+            todoList.getTodos().add(todo);
+        }
+        todoList.setTotalTodos(todoCount);
+        todoList.setCompletedTodos((todoCount + 2) / 3);
+    }
+
+    @Benchmark
+    public TodoListResponse convertListToResponse() {
+        return ConversionUtils.convertListToResponse(todoList);
+    }
+}
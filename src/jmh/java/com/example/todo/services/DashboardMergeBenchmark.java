@@ -0,0 +1,67 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.DashboardItem;
+import com.example.todo.dto.NoteSummary;
+import com.example.todo.dto.TodoListSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assembling the dashboard feed from todo lists and notes that are each sorted by update time:
+ * the linear merge used by {@link DashboardService} against the concatenate-and-sort
+ * that {@code WebController.home} used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardMergeBenchmark {
+
+    @Param({"25", "100", "1000", "10000"})
+    public int itemsPerType;
+
+    private List<DashboardItem> lists;
+    private List<DashboardItem> notes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        lists = new ArrayList<>(itemsPerType);
+        notes = new ArrayList<>(itemsPerType);
+        for (int i = 0; i < itemsPerType; i++) {
+            TodoListSummary list = new TodoListSummary();
+            list.setId((long) i);
+            list.setUpdatedAt(now.minusSeconds(random.nextInt(1_000_000)));
+            lists.add(list);
+
+            NoteSummary note = new NoteSummary();
+            note.setId((long) i);
+            note.setUpdatedAt(now.minusSeconds(random.nextInt(1_000_000)));
+            notes.add(note);
+        }
+        lists.sort((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()));
+        notes.sort((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()));
+    }
+
+    @Benchmark
+    public List<DashboardItem> mergeByUpdatedAt() {
+        return DashboardService.mergeByUpdatedAt(lists, notes);
+    }
+
+    @Benchmark
+    public List<DashboardItem> concatenateAndSort() {
+        List<DashboardItem> dashboardItems = new ArrayList<>();
+        dashboardItems.addAll(lists);
+        dashboardItems.addAll(notes);
+        dashboardItems.sort((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()));
+        return dashboardItems;
+    }
+}
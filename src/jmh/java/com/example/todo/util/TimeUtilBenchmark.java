@@ -0,0 +1,41 @@
+package com.example.todo.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relative time formatting, called several times per dashboard card while rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUtilBenchmark {
+
+    @Param({"30", "7200", "864000", "40000000"})
+    public long ageSeconds;
+
+    private final TimeUtil timeUtil = new TimeUtil();
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Setup
+    public void setUp() {
+        updatedAt = LocalDateTime.now().minusSeconds(ageSeconds);
+        createdAt = updatedAt.minusDays(2);
+    }
+
+    @Benchmark
+    public String getRelativeTime() {
+        return timeUtil.getRelativeTime(updatedAt);
+    }
+
+    @Benchmark
+    public String getSmartTimeDisplay() {
+        return timeUtil.getSmartTimeDisplay(createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todo.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.annotations.CacheLayout;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for todo lists, todos, notes and the todos of each list, and the query cache
+ * for the list queries of {@code TodoRepository}, in Caffeine-backed JCache regions.
+ * <p>
+ * Unlike the service read cache, entries are kept consistent by Hibernate: entity changes update their
+ * region, and bulk statements evict the regions of the tables they touch. The counters of a list are
+ * maintained with bulk updates, so todo changes evict the cached lists.
+ * Only active if {@code todo.second-level-cache.enabled} is set; hit and miss counts per region are
+ * published as {@code hibernate.second.level.cache.*} and {@code hibernate.cache.query.*} meters.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.second-level-cache", name = "enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    public static final String TODO_LISTS = "l2.todoLists";
+    public static final String TODOS = "l2.todos";
+    public static final String NOTES = "l2.notes";
+    public static final String TODO_LIST_TODOS = "l2.todoListTodos";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, TODO_LISTS, properties.getEntities());
+        createRegion(cacheManager, TODOS, properties.getEntities());
+        createRegion(cacheManager, NOTES, properties.getEntities());
+        createRegion(cacheManager, TODO_LIST_TODOS, properties.getCollections());
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, properties.getQueries());
+        // Query results are only valid while the update times of their tables are known, so these never expire
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager,
+                                                                    SecondLevelCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isQueryCache());
+            // Query results keep only entity ids, the todos themselves are resolved from their region
+            hibernateProperties.put(AvailableSettings.QUERY_CACHE_LAYOUT, CacheLayout.SHALLOW);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // Every region is configured above; a region without eviction settings is a mapping mistake
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton todoCollectionEvictionRegistrar(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            TodoCollectionEvictionListener listener = new TodoCollectionEvictionListener();
+            registry.appendListeners(EventType.POST_INSERT, listener);
+            registry.appendListeners(EventType.POST_UPDATE, listener);
+            registry.appendListeners(EventType.POST_DELETE, listener);
+        };
+    }
+
+    /**
+     * Create a region, replacing one left over from an earlier application context in the same JVM.
+     */
+    private static void createRegion(CacheManager cacheManager, String name,
+                                     @Nullable SecondLevelCacheProperties.Eviction eviction) {
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (eviction != null) {
+            configuration.setMaximumSize(OptionalLong.of(eviction.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(eviction.getExpireAfterWrite().toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todo.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Hibernate second-level cache settings, independent of the service read cache ({@code spring.cache.type}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "todo.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    /** Cache entities and the todos of each list between transactions. */
+    private boolean enabled = false;
+
+    /** Also cache the results of queries marked cacheable. */
+    private boolean queryCache = true;
+
+    /** Eviction of cached todo lists, todos and notes. */
+    private Eviction entities = new Eviction(10_000, Duration.ofMinutes(10));
+
+    /** Eviction of cached todo collections of lists. */
+    private Eviction collections = new Eviction(10_000, Duration.ofMinutes(10));
+
+    /** Eviction of cached query results. */
+    private Eviction queries = new Eviction(1_000, Duration.ofMinutes(5));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Eviction {
+        private long maximumSize;
+        private Duration expireAfterWrite;
+    }
+}
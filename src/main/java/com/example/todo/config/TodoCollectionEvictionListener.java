@@ -0,0 +1,55 @@
+package com.example.todo.config;
+
+import com.example.todo.entities.Todo;
+import com.example.todo.entities.TodoList;
+import org.hibernate.Cache;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Evicts the cached todos of a list whenever one of its todos is inserted, updated or deleted.
+ * Todos are saved through their repository rather than through {@code TodoList.todos}, so Hibernate
+ * would otherwise keep serving the collection, including its order, as it was first loaded.
+ */
+class TodoCollectionEvictionListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    static final String ROLE = TodoList.class.getName() + ".todos";
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getEntity(), event.getSession());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static void evict(Object entity, EventSource session) {
+        if (!(entity instanceof Todo todo) || todo.getTodoList() == null) {
+            return;
+        }
+        Long listId = todo.getTodoList().getId();
+        Cache cache = session.getFactory().getCache();
+        cache.evictCollectionData(ROLE, listId);
+        // A concurrent reader may cache the collection again from the old rows before this transaction commits
+        session.getActionQueue().registerProcess((success, completedSession) -> cache.evictCollectionData(ROLE, listId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.CacheStatsResponse;
+import com.example.todo.services.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller exposing read cache statistics.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    /**
+     * Retrieve hit, miss and eviction statistics of all caches.
+     *
+     * @return list of cache statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+}
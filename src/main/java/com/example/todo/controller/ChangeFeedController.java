@@ -0,0 +1,32 @@
+package com.example.todo.controller;
+
+import com.example.todo.services.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming committed changes as Server-Sent Events.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Subscribe to change events for todo lists, todos and notes.
+     * Each {@code change} event carries the entity type, ID, operation and new update time.
+     * A {@code reset} event means missed events are gone and the client should reload.
+     *
+     * @param lastEventId the ID of the last received event, sent by browsers when reconnecting
+     * @return the event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeedService.subscribe(lastEventId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.DashboardPage;
+import com.example.todo.services.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the merged dashboard feed of todo lists and notes.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Retrieve one page of the dashboard feed, most recently updated first.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, omitted for the first page
+     * @param limit the maximum number of items to return
+     * @return the page of items, 400 if the cursor is invalid
+     */
+    @GetMapping
+    public ResponseEntity<DashboardPage> getDashboard(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DashboardService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(dashboardService.getDashboardPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
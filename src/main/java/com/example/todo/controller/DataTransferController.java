@@ -0,0 +1,54 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.ImportResult;
+import com.example.todo.services.DataTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * REST controller for NDJSON backup and restore of all todo lists, todos and notes.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@RequestMapping("/api")
+public class DataTransferController {
+
+    private final DataTransferService dataTransferService;
+
+    /**
+     * Export all data as NDJSON, streamed straight from the database.
+     *
+     * @return one JSON record per line: todo lists, then todos, then notes
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportData() {
+        StreamingResponseBody body = dataTransferService::exportTo;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todo-export.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Import NDJSON records as produced by the export, parsed incrementally.
+     * The import is committed in chunks, so an invalid record does not undo the chunks before it.
+     *
+     * @param request the HTTP request whose body is read as NDJSON
+     * @return record counts and throughput; 400 with the error and the counts of the records
+     *         that were imported before the invalid one, which stay imported
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResult> importData(HttpServletRequest request) throws IOException {
+        ImportResult result = dataTransferService.importFrom(request.getInputStream());
+        return result.getError() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+}
@@ -1,16 +1,29 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.EntityVersion;
+import com.example.todo.dto.NotePatchRequest;
+import com.example.todo.dto.NotePatchResult;
 import com.example.todo.dto.NoteRequest;
 import com.example.todo.dto.NoteResponse;
+import com.example.todo.dto.NoteSummary;
 import com.example.todo.services.NoteService;
+import com.example.todo.services.StaleVersionException;
+import com.example.todo.util.ETags;
+import com.example.todo.util.EntityType;
+import com.example.todo.util.JsonArrayStreams;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
-import java.util.List;
 import java.util.Optional;
 
 
@@ -24,26 +37,45 @@ import java.util.Optional;
 public class NoteController {
 
     private final NoteService noteService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieve all notes.
+     * Retrieve summaries of all notes, with a body excerpt instead of the full body,
+     * streamed as a JSON array while they are read from the database.
+     * Responds with 304 if the client's ETag still matches.
      *
-     * @return list of all notes
+     * @param webRequest the request, used for conditional request handling
+     * @return JSON array of all note summaries
      */
-    @GetMapping
-    public ResponseEntity<List<NoteResponse>> getAllNotes() {
-        List<NoteResponse> notes = noteService.getAllNotes();
-        return ResponseEntity.ok(notes);
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllNotes(WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(EntityType.NOTE, noteService.getNotesVersion()))) {
+            return null;
+        }
+        StreamingResponseBody body = JsonArrayStreams.of(objectMapper, NoteSummary.class, noteService::forEachNote);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
      * Retrieve a note by ID.
+     * Responds with 304 if the client's ETag or Last-Modified still matches.
+     * The ETag carries the note version and can be sent back in If-Match.
      *
      * @param id the note ID
+     * @param webRequest the request, used for conditional request handling
      * @return the note if found, 404 otherwise
      */
     @GetMapping("/{id}")
-    public ResponseEntity<NoteResponse> getNoteById(@PathVariable Long id) {
+    public ResponseEntity<NoteResponse> getNoteById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<EntityVersion> version = noteService.getNoteVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (webRequest.checkNotModified(ETags.of(EntityType.NOTE, id, version.get()),
+                ETags.lastModified(version.get().getUpdatedAt()))) {
+            return null;
+        }
+
         Optional<NoteResponse> note = noteService.getNote(id);
         return note.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -51,33 +83,78 @@ public class NoteController {
 
     /**
      * Update an existing note.
+     * The expected version is taken from If-Match if present, otherwise from the request body.
      *
      * @param id the note ID
+     * @param ifMatch ETags of the versions the update is based on, optional
      * @param request the updated note data
-     * @return the updated note if found, 404 otherwise
+     * @return the updated note if found, 404 otherwise,
+     *         412 if If-Match does not match the current version,
+     *         409 if the body version is stale or the note was changed concurrently
      */
     @PutMapping("/{id}")
     public ResponseEntity<NoteResponse> updateNote(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody NoteRequest request) {
-        Optional<NoteResponse> updatedNote = noteService.updateNote(id, request);
-        return updatedNote.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        Long expectedVersion = ETags.expectedVersion(EntityType.NOTE, id, ifMatch);
+        if (expectedVersion != null) {
+            request.setVersion(expectedVersion);
+        }
+        try {
+            Optional<NoteResponse> updatedNote = noteService.updateNote(id, request);
+            return updatedNote.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
+    /**
+     * Apply text edits to a note body against the version the client last saw.
+     * Only the edits are sent and written, so the cost does not grow with the size of the note.
+     *
+     * @param id the note ID
+     * @param request the base version and the edits to apply in order
+     * @return the new version and body length, 404 if not found,
+     *         409 if the note has changed since the base version, 400 if an edit is out of range
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<NotePatchResult> patchNote(
+            @PathVariable Long id,
+            @Valid @RequestBody NotePatchRequest request) {
+        try {
+            Optional<NotePatchResult> result = noteService.patchNote(id, request);
+            return result.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
     /**
      * Delete a note by ID.
      *
      * @param id the note ID
-     * @return 204 if deleted, 404 if not found
+     * @param ifMatch ETags of the versions the deletion is based on, optional
+     * @return 204 if deleted, 404 if not found, 412 if If-Match does not match the current version
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteNote(@PathVariable Long id) {
-        if (noteService.deleteNote(id)) {
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> deleteNote(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            if (noteService.deleteNote(id, ETags.expectedVersion(EntityType.NOTE, id, ifMatch))) {
+                return ResponseEntity.noContent().build();
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
     }
 
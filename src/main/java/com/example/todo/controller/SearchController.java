@@ -0,0 +1,36 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.SearchResult;
+import com.example.todo.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for full-text search across todo lists, todos and notes.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Search todo list names, todo descriptions, note titles and note bodies.
+     * Every word must match; the last word also matches as a prefix.
+     *
+     * @param q the search text
+     * @param limit the maximum number of results
+     * @return matching items, best match first
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + SearchService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+}
@@ -1,14 +1,28 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.EntityVersion;
+import com.example.todo.dto.TodoBatchRequest;
+import com.example.todo.dto.TodoBatchResult;
 import com.example.todo.dto.TodoListRequest;
 import com.example.todo.dto.TodoListResponse;
+import com.example.todo.dto.TodoMoveRequest;
 import com.example.todo.dto.TodoRequest;
 import com.example.todo.dto.TodoResponse;
+import com.example.todo.services.StaleVersionException;
 import com.example.todo.services.TodoService;
+import com.example.todo.util.ETags;
+import com.example.todo.util.EntityType;
+import com.example.todo.util.JsonArrayStreams;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -24,28 +38,47 @@ import java.util.Optional;
 public class TodoListController {
 
     private final TodoService todoService;
+    private final ObjectMapper objectMapper;
 
     // ===================== LIST OPERATIONS =====================
 
     /**
-     * Retrieve all todo lists.
+     * Retrieve all todo lists with their todos, streamed as a JSON array while they are read from the database.
+     * Responds with 304 if the client's ETag still matches.
      *
-     * @return list of all todo lists
+     * @param webRequest the request, used for conditional request handling
+     * @return JSON array of all todo lists
      */
-    @GetMapping
-    public ResponseEntity<List<TodoListResponse>> getAllTodoLists() {
-        List<TodoListResponse> todoLists = todoService.getAllTodoLists();
-        return ResponseEntity.ok(todoLists);
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllTodoLists(WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(EntityType.TODOLIST, todoService.getTodoListsVersion()))) {
+            return null;
+        }
+        StreamingResponseBody body = JsonArrayStreams.of(objectMapper, TodoListResponse.class,
+                todoService::forEachTodoList);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
      * Retrieve a todo list by ID.
+     * Responds with 304 if the client's ETag or Last-Modified still matches.
+     * The ETag carries the list version and can be sent back in If-Match.
      *
      * @param listId the todo list ID
+     * @param webRequest the request, used for conditional request handling
      * @return the todo list if found, 404 otherwise
      */
     @GetMapping("/{listId}")
-    public ResponseEntity<TodoListResponse> getTodoListById(@PathVariable Long listId) {
+    public ResponseEntity<TodoListResponse> getTodoListById(@PathVariable Long listId, WebRequest webRequest) {
+        Optional<EntityVersion> version = todoService.getTodoListVersion(listId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (webRequest.checkNotModified(ETags.of(EntityType.TODOLIST, listId, version.get()),
+                ETags.lastModified(version.get().getUpdatedAt()))) {
+            return null;
+        }
+
         Optional<TodoListResponse> todoList = todoService.getTodoList(listId);
         return todoList.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -65,18 +98,33 @@ public class TodoListController {
 
     /**
      * Update an existing todo list.
+     * The expected version is taken from If-Match if present, otherwise from the request body.
      *
      * @param listId the todo list ID
+     * @param ifMatch ETags of the versions the update is based on, optional
      * @param request the updated todo list data
-     * @return the updated todo list if found, 404 otherwise
+     * @return the updated todo list if found, 404 otherwise,
+     *         412 if If-Match does not match the current version,
+     *         409 if the body version is stale or the list was changed concurrently
      */
     @PutMapping("/{listId}")
     public ResponseEntity<TodoListResponse> updateTodoList(
             @PathVariable Long listId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TodoListRequest request) {
-        Optional<TodoListResponse> updatedTodoList = todoService.updateTodoList(listId, request);
-        return updatedTodoList.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        Long expectedVersion = ETags.expectedVersion(EntityType.TODOLIST, listId, ifMatch);
+        if (expectedVersion != null) {
+            request.setVersion(expectedVersion);
+        }
+        try {
+            Optional<TodoListResponse> updatedTodoList = todoService.updateTodoList(listId, request);
+            return updatedTodoList.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
 
@@ -84,14 +132,24 @@ public class TodoListController {
      * Delete a todo list by ID.
      *
      * @param listId the todo list ID
-     * @return 204 if deleted, 404 if not found
+     * @param ifMatch ETags of the versions the deletion is based on, optional
+     * @return 204 if deleted, 404 if not found, 412 if If-Match does not match the current version,
+     *         409 if the list was changed concurrently
      */
     @DeleteMapping("/{listId}")
-    public ResponseEntity<Void> deleteTodoList(@PathVariable Long listId) {
-        if (todoService.deleteTodoList(listId)) {
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> deleteTodoList(
+            @PathVariable Long listId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            if (todoService.deleteTodoList(listId, ETags.expectedVersion(EntityType.TODOLIST, listId, ifMatch))) {
+                return ResponseEntity.noContent().build();
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
@@ -123,7 +181,7 @@ public class TodoListController {
      *
      * @param listId the todo list ID
      * @param todoId the todo ID
-     * @return the todo if found, 404 otherwise
+     * @return the todo with an ETag of its version if found, 404 otherwise
      */
     @GetMapping("/{listId}/todos/{todoId}")
     public ResponseEntity<TodoResponse> getTodo(
@@ -131,7 +189,9 @@ public class TodoListController {
             @PathVariable Long todoId) {
 
         Optional<TodoResponse> todo = todoService.getTodo(listId, todoId);
-        return todo.map(ResponseEntity::ok)
+        return todo.map(found -> ResponseEntity.ok()
+                        .eTag(ETags.of(EntityType.TODO, todoId, new EntityVersion(found.getVersion(), null)))
+                        .body(found))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -152,23 +212,56 @@ public class TodoListController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Apply a batch of create, update, complete, incomplete and delete operations
+     * to a todo list in a single transaction.
+     *
+     * @param listId the todo list ID
+     * @param request the operations to apply, in order
+     * @return one result per operation if the list exists, 404 otherwise
+     */
+    @PostMapping("/{listId}/todos:batch")
+    public ResponseEntity<List<TodoBatchResult>> applyTodoBatch(
+            @PathVariable Long listId,
+            @Valid @RequestBody TodoBatchRequest request) {
+
+        Optional<List<TodoBatchResult>> results = todoService.applyTodoBatch(listId, request.getOperations());
+        return results.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Update an existing todo.
+     * The expected version is taken from If-Match if present, otherwise from the request body.
      *
      * @param listId the todo list ID
      * @param todoId the todo ID
+     * @param ifMatch ETags of the versions the update is based on, optional
      * @param request the updated todo data
-     * @return the updated todo if found, 404 otherwise
+     * @return the updated todo if found, 404 otherwise,
+     *         412 if If-Match does not match the current version,
+     *         409 if the body version is stale or the todo was changed concurrently
      */
     @PutMapping("/{listId}/todos/{todoId}")
     public ResponseEntity<TodoResponse> updateTodo(
             @PathVariable Long listId,
             @PathVariable Long todoId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TodoRequest request) {
 
-        Optional<TodoResponse> updatedTodo = todoService.updateTodo(listId, todoId, request);
-        return updatedTodo.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        Long expectedVersion = ETags.expectedVersion(EntityType.TODO, todoId, ifMatch);
+        if (expectedVersion != null) {
+            request.setVersion(expectedVersion);
+        }
+        try {
+            Optional<TodoResponse> updatedTodo = todoService.updateTodo(listId, todoId, request);
+            return updatedTodo.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
@@ -176,17 +269,26 @@ public class TodoListController {
      *
      * @param listId the todo list ID
      * @param todoId the todo ID
-     * @return 204 if deleted, 404 if not found
+     * @param ifMatch ETags of the versions the deletion is based on, optional
+     * @return 204 if deleted, 404 if not found, 412 if If-Match does not match the current version,
+     *         409 if the todo was changed concurrently
      */
     @DeleteMapping("/{listId}/todos/{todoId}")
     public ResponseEntity<Void> deleteTodo(
             @PathVariable Long listId,
-            @PathVariable Long todoId) {
+            @PathVariable Long todoId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        if (todoService.deleteTodo(listId, todoId)) {
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.notFound().build();
+        try {
+            if (todoService.deleteTodo(listId, todoId, ETags.expectedVersion(EntityType.TODO, todoId, ifMatch))) {
+                return ResponseEntity.noContent().build();
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (StaleVersionException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
@@ -224,4 +326,43 @@ public class TodoListController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
 
     }
+
+    /**
+     * Move a todo to a new place in its list.
+     *
+     * @param listId the todo list ID
+     * @param todoId the todo ID
+     * @param request the todo to place it after, none to place it first
+     * @return the moved todo if found, 404 otherwise, 400 if the todo to place it after is not in the list
+     */
+    @PatchMapping("/{listId}/todos/{todoId}/move")
+    public ResponseEntity<TodoResponse> moveTodo(
+            @PathVariable Long listId,
+            @PathVariable Long todoId,
+            @RequestBody TodoMoveRequest request) {
+        try {
+            return todoService.moveTodo(listId, todoId, request.getAfterTodoId())
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Flip the completion status of a todo.
+     *
+     * @param listId the todo list ID
+     * @param todoId the todo ID
+     * @return the updated todo if found, 404 otherwise
+     */
+    @PostMapping("/{listId}/todos/{todoId}/toggle")
+    public ResponseEntity<TodoResponse> toggleTodo(
+            @PathVariable Long listId,
+            @PathVariable Long todoId) {
+
+        return todoService.toggleTodo(listId, todoId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
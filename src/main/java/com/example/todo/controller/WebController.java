@@ -1,19 +1,26 @@
 package com.example.todo.controller;
 
 import com.example.todo.dto.*;
+import com.example.todo.services.DashboardService;
 import com.example.todo.services.NoteService;
+import com.example.todo.services.SearchService;
+import com.example.todo.services.StaleVersionException;
 import com.example.todo.services.TodoService;
+import com.example.todo.util.ETags;
 import com.example.todo.util.EntityType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +35,8 @@ public class WebController {
 
     private final TodoService todoService;
     private final NoteService noteService;
+    private final DashboardService dashboardService;
+    private final SearchService searchService;
 
     @ModelAttribute
     public void addAttributes(Model model) {
@@ -37,28 +46,73 @@ public class WebController {
     // ===================== HOME =====================
 
     /**
-     * Display the home page with all todo lists and notes.
+     * Display the home page with the first page of todo lists and notes.
      *
+     * @param cursor optional cursor of the page to start at
      * @param model the view model
+     * @param redirectAttributes redirect attributes for error messages
      * @return home page template
      */
     @GetMapping
-    public String home(Model model) {
-        List<TodoListResponse> todoLists = todoService.getAllTodoLists();
-        List<NoteResponse> notes = noteService.getAllNotes();
-
-        List<DashboardItem> dashboardItems = new ArrayList<>();
-        dashboardItems.addAll(todoLists);
-        dashboardItems.addAll(notes);
-
-        dashboardItems.sort((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()));
+    public String home(@RequestParam(required = false) String cursor,
+                       Model model,
+                       RedirectAttributes redirectAttributes) {
+        DashboardPage page;
+        try {
+            page = dashboardService.getDashboardPage(cursor, DashboardService.DEFAULT_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            return redirectWithError(redirectAttributes, "Invalid page!", "/");
+        }
 
-        model.addAttribute("dashboardItems", dashboardItems);
+        model.addAttribute("dashboardItems", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
         model.addAttribute("newTodoList", new TodoListRequest());
         model.addAttribute("newNote", new NoteRequest());
         return "/pages/home";
     }
 
+    /**
+     * Render the next page of dashboard cards for "load more".
+     * The cursor for the following page is returned in the {@code X-Next-Cursor} header.
+     *
+     * @param cursor the cursor of the page to render
+     * @param model the view model
+     * @param response the HTTP response
+     * @return dashboard cards fragment
+     */
+    @GetMapping("/dashboard/items")
+    public String dashboardItems(@RequestParam String cursor,
+                                 Model model,
+                                 HttpServletResponse response) {
+        DashboardPage page;
+        try {
+            page = dashboardService.getDashboardPage(cursor, DashboardService.DEFAULT_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            page = new DashboardPage(List.of(), null);
+        }
+
+        if (page.getNextCursor() != null) {
+            response.setHeader("X-Next-Cursor", page.getNextCursor());
+        }
+        model.addAttribute("dashboardItems", page.getItems());
+        return "/pages/home :: dashboard-items";
+    }
+
+    /**
+     * Display search results for todo lists, todos and notes.
+     *
+     * @param q the search text
+     * @param model the view model
+     * @return search results page template
+     */
+    @GetMapping("/search")
+    public String search(@RequestParam(defaultValue = "") String q, Model model) {
+        model.addAttribute("searchQuery", q);
+        model.addAttribute("searchResults", searchService.search(q, SearchService.DEFAULT_LIMIT));
+        return "/pages/search";
+    }
+
     // =====================CREATE/EDIT PAGE =====================
 
     /**
@@ -132,6 +186,7 @@ public class WebController {
         TodoListResponse existingList = existingListOpt.get();
         TodoListRequest form = new TodoListRequest();
         form.setName(existingList.getName());
+        form.setVersion(existingList.getVersion());
 
         model.addAttribute("entityType", EntityType.TODOLIST);
         model.addAttribute("formObject", form);
@@ -166,6 +221,7 @@ public class WebController {
         TodoResponse todo = todoOpt.get();
         TodoRequest form = new TodoRequest();
         form.setDescription(todo.getDescription());
+        form.setVersion(todo.getVersion());
 
         model.addAttribute("entityType", EntityType.TODO);
         model.addAttribute("formObject", form);
@@ -196,6 +252,7 @@ public class WebController {
         NoteRequest form = new NoteRequest();
         form.setBody(existingNote.getBody());
         form.setTitle(existingNote.getTitle());
+        form.setVersion(existingNote.getVersion());
 
         model.addAttribute("entityType", EntityType.NOTE);
         model.addAttribute("formObject", form);
@@ -250,11 +307,12 @@ public class WebController {
                              Model model) {
 
         if (bindingResult.hasErrors()) {
-            return todoService.getTodoList(listId)
+            return todoService.getTodoListSummary(listId)
                     .map(todoList -> {
                         model.addAttribute("todoList", todoList);
                         model.addAttribute("todos", todoService.getTodos(listId));
                         model.addAttribute("editTodoListRequest", new TodoListRequest());
+                        model.addAttribute("hasTodos", todoList.getTotalTodos() > 0);
                         return "/pages/list-details";
                     })
                     .orElseGet(() -> redirectWithError(redirectAttributes, "Todo list not found!", "/"));
@@ -284,7 +342,7 @@ public class WebController {
                              Model model) {
         if (bindingResult.hasErrors()) {
             List<TodoListResponse> todoLists = todoService.getAllTodoLists();
-            List<NoteResponse> notes = noteService.getAllNotes();
+            List<NoteSummary> notes = noteService.getAllNotes();
             model.addAttribute("todoLists", todoLists);
             model.addAttribute("notes", notes);
             model.addAttribute("newTodoList", new TodoListRequest());
@@ -324,7 +382,13 @@ public class WebController {
             return "/pages/create";
         }
 
-        Optional<TodoListResponse> updatedList = todoService.updateTodoList(listId, request);
+        Optional<TodoListResponse> updatedList;
+        try {
+            updatedList = todoService.updateTodoList(listId, request);
+        } catch (StaleVersionException | ObjectOptimisticLockingFailureException e) {
+            return redirectWithError(redirectAttributes, "The list was changed meanwhile, please try again!",
+                    "/lists/" + listId + "/edit");
+        }
 
         if (updatedList.isEmpty()) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to update todo list!");
@@ -338,6 +402,7 @@ public class WebController {
      * @param listId the todo list ID
      * @param todoId the todo ID
      * @param description the new description
+     * @param version the version the edit is based on, if sent by the form
      * @param redirectAttributes redirect attributes for error messages
      * @return redirect to list details
      */
@@ -345,6 +410,7 @@ public class WebController {
     public String updateTodo(@PathVariable Long listId,
                              @PathVariable Long todoId,
                              @RequestParam String description,
+                             @RequestParam(required = false) Long version,
                              RedirectAttributes redirectAttributes) {
 
         if (description == null || description.trim().isEmpty()) {
@@ -353,9 +419,15 @@ public class WebController {
 
         TodoRequest request = new TodoRequest();
         request.setDescription(description);
+        request.setVersion(version);
 
-        if (todoService.updateTodo(listId, todoId, request).isEmpty()) {
-            redirectAttributes.addFlashAttribute("errorMessage", "Failed to update todo!");
+        try {
+            if (todoService.updateTodo(listId, todoId, request).isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage", "Failed to update todo!");
+            }
+        } catch (StaleVersionException | ObjectOptimisticLockingFailureException e) {
+            return redirectWithError(redirectAttributes, "The todo was changed meanwhile, please try again!",
+                    "/lists/" + listId + "/todos/" + todoId + "/edit");
         }
 
         return "redirect:/lists/" + listId;
@@ -374,17 +446,8 @@ public class WebController {
                                        @PathVariable Long todoId,
                                        RedirectAttributes redirectAttributes) {
 
-        return todoService.getTodo(listId, todoId)
-                .map(todo -> {
-                    Optional<TodoResponse> result = todo.isCompleted()
-                            ? todoService.markTodoAsIncomplete(listId, todoId)
-                            : todoService.markTodoAsComplete(listId, todoId);
-
-                    if (result.isEmpty()) {
-                        redirectAttributes.addFlashAttribute("errorMessage", "Failed to update todo!");
-                    }
-                    return "redirect:/lists/" + listId;
-                })
+        return todoService.toggleTodo(listId, todoId)
+                .map(todo -> "redirect:/lists/" + listId)
                 .orElseGet(() -> redirectWithError(redirectAttributes, "Todo not found!", "/lists/" + listId));
     }
 
@@ -413,7 +476,13 @@ public class WebController {
                     .orElseGet(() -> redirectWithError(redirectAttributes, "Note not found!", "/"));
         }
 
-        Optional<NoteResponse> updatedNote = noteService.updateNote(noteId, request);
+        Optional<NoteResponse> updatedNote;
+        try {
+            updatedNote = noteService.updateNote(noteId, request);
+        } catch (StaleVersionException | ObjectOptimisticLockingFailureException e) {
+            return redirectWithError(redirectAttributes, "The note was changed meanwhile, please try again!",
+                    "/notes/" + noteId + "/edit");
+        }
         if (updatedNote.isEmpty()) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to update note!");
         }
@@ -435,7 +504,7 @@ public class WebController {
                              @PathVariable Long todoId,
                              RedirectAttributes redirectAttributes) {
 
-        if (!todoService.deleteTodo(listId, todoId)) {
+        if (!todoService.deleteTodo(listId, todoId, null)) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to delete todo!");
         }
         return "redirect:/lists/" + listId;
@@ -451,7 +520,7 @@ public class WebController {
     @PostMapping("/lists/{listId}/delete")
     public String deleteTodoList(@PathVariable Long listId,
                                  RedirectAttributes redirectAttributes) {
-        if (!todoService.deleteTodoList(listId)) {
+        if (!todoService.deleteTodoList(listId, null)) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to delete todo list!");
         }
         return "redirect:/";
@@ -467,7 +536,7 @@ public class WebController {
     @PostMapping("/notes/{noteId}/delete")
     public String deleteNote(@PathVariable Long noteId,
                              RedirectAttributes redirectAttributes) {
-        if (!noteService.deleteNote(noteId)) {
+        if (!noteService.deleteNote(noteId, null)) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to delete note!");
         }
         return "redirect:/";
@@ -537,7 +606,7 @@ public class WebController {
      */
     @GetMapping("/notes/{id}/delete-confirm")
     public String confirmDeleteNote(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        return noteService.getNote(id)
+        return noteService.getNoteSummary(id)
                 .map(note -> {
                     model.addAttribute("entityType", EntityType.NOTE);
                     model.addAttribute("entityName", note.getTitle());
@@ -554,41 +623,49 @@ public class WebController {
 
     /**
      * Display todo list details with optional filtering.
+     * Responds with 304 without rendering if the client's copy is still current,
+     * unless a flash message from a redirect has to be shown.
      *
      * @param listId the todo list ID
      * @param filter optional filter (completed/pending)
      * @param model the view model
      * @param redirectAttributes redirect attributes for error messages
-     * @return list details page or redirect if not found
+     * @param webRequest the request, used for conditional request handling
+     * @return list details page, null if not modified, or redirect if not found
      */
     @GetMapping("/lists/{listId}")
     public String viewTodoList(@PathVariable Long listId,
                                @RequestParam(value = "filter", required = false) String filter,
                                Model model,
-                               RedirectAttributes redirectAttributes) {
+                               RedirectAttributes redirectAttributes,
+                               WebRequest webRequest) {
+        Optional<LocalDateTime> lastModified = todoService.getTodoListLastModified(listId);
+        if (lastModified.isPresent() && !hasFlashMessage(model) && webRequest.checkNotModified(
+                ETags.of(EntityType.TODOLIST, listId, lastModified.get(), "page-" + filter),
+                ETags.lastModified(lastModified.get()))) {
+            return null;
+        }
 
-        return todoService.getTodoList(listId)
+        return todoService.getTodoListSummary(listId)
                 .map(todoList -> {
-                    List<TodoResponse> allTodos = todoService.getTodos(listId);
-                    List<TodoResponse> filteredTodos = Optional.ofNullable(filter)
-                            .map(f -> switch (f) {
-                                case "completed" -> allTodos.stream()
-                                        .filter(TodoResponse::isCompleted)
-                                        .toList();
-                                case "pending" -> allTodos.stream()
-                                        .filter(todo -> !todo.isCompleted())
-                                        .toList();
-                                default -> allTodos;
-                            })
-                            .orElse(allTodos);
+                    // Filter in the database, and skip the query when the counts show nothing would match
+                    Boolean completed = "completed".equals(filter) ? Boolean.TRUE
+                            : "pending".equals(filter) ? Boolean.FALSE
+                            : null;
+                    int matching = completed == null ? todoList.getTotalTodos()
+                            : completed ? todoList.getCompletedTodos()
+                            : todoList.getPendingTodos();
+                    List<TodoResponse> todos = matching == 0 ? List.of()
+                            : completed == null ? todoService.getTodos(listId)
+                            : todoService.getTodos(listId, completed);
 
                     // Populate model
                     model.addAttribute("todoList", todoList);
-                    model.addAttribute("todos", filteredTodos);
+                    model.addAttribute("todos", todos);
                     model.addAttribute("newTodo", new TodoRequest());
                     model.addAttribute("currentFilter", filter);
                     model.addAttribute("editTodoListRequest", new TodoListRequest());
-                    model.addAttribute("hasTodos", !allTodos.isEmpty());
+                    model.addAttribute("hasTodos", todoList.getTotalTodos() > 0);
 
                     return "/pages/list-details";
                 })
@@ -597,16 +674,26 @@ public class WebController {
 
     /**
      * Display note details.
+     * Responds with 304 without rendering if the client's copy is still current,
+     * unless a flash message from a redirect has to be shown.
      *
      * @param noteId the note ID
      * @param model the view model
      * @param redirectAttributes redirect attributes for error messages
-     * @return note details page or redirect if not found
+     * @param webRequest the request, used for conditional request handling
+     * @return note details page, null if not modified, or redirect if not found
      */
     @GetMapping("/notes/{noteId}")
     public String viewNote(@PathVariable Long noteId,
                            Model model,
-                           RedirectAttributes redirectAttributes) {
+                           RedirectAttributes redirectAttributes,
+                           WebRequest webRequest) {
+        Optional<LocalDateTime> lastModified = noteService.getNoteLastModified(noteId);
+        if (lastModified.isPresent() && !hasFlashMessage(model) && webRequest.checkNotModified(
+                ETags.of(EntityType.NOTE, noteId, lastModified.get(), "page"),
+                ETags.lastModified(lastModified.get()))) {
+            return null;
+        }
         return noteService.getNote(noteId)
                 .map(note -> {
                     model.addAttribute("note", note);
@@ -625,4 +712,12 @@ public class WebController {
         redirectAttributes.addFlashAttribute("errorMessage", errorMessage);
         return "redirect:" + redirectUrl;
     }
+
+    /**
+     * Whether a redirect left a flash message for this page. The page ETag does not cover
+     * flash attributes, so a 304 would keep the browser's copy and the message would be lost.
+     */
+    private boolean hasFlashMessage(Model model) {
+        return model.containsAttribute("errorMessage");
+    }
 }
\ No newline at end of file
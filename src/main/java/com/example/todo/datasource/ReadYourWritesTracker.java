@@ -0,0 +1,79 @@
+package com.example.todo.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+
+/**
+ * Remembers when a client last committed a write, so its reads go to the primary until the replicas
+ * have caught up. In web requests the time is kept in a cookie, so the page a form post redirects to
+ * also sees the write; outside of requests, e.g. in scheduled jobs, it is kept per thread.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    static final String COOKIE = "todo-last-write";
+
+    private final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            recordWrite(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Whether the current client committed a write within the window.
+     */
+    public boolean isWithinWindow() {
+        Long last = lastWriteMillis();
+        return last != null && System.currentTimeMillis() - last < windowMillis;
+    }
+
+    private void recordWrite(long now) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            attributes.setAttribute(COOKIE, now, RequestAttributes.SCOPE_REQUEST);
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(now));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        } else {
+            lastWrite.set(now);
+        }
+    }
+
+    private Long lastWriteMillis() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            if (attributes.getAttribute(COOKIE, RequestAttributes.SCOPE_REQUEST) instanceof Long recorded) {
+                return recorded;
+            }
+            Cookie cookie = WebUtils.getCookie(attributes.getRequest(), COOKIE);
+            if (cookie == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(cookie.getValue());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return lastWrite.get();
+    }
+}
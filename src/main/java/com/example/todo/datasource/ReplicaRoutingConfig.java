@@ -0,0 +1,106 @@
+package com.example.todo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * <p>
+ * The application data source is a lazy proxy of {@link ReplicaRoutingDataSource}: it only fetches a
+ * connection on the first statement, after the transaction has been marked read-only or not. So the
+ * class-level {@code @Transactional(readOnly = true)} of the services decides the routing, and writes,
+ * migrations and non-transactional access use the primary.
+ * Only active if {@code todo.datasource.replicas[0].url} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.datasource", name = "replicas[0].url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      ReplicaRoutingProperties properties,
+                                                      FlywayProperties flywayProperties,
+                                                      ReadYourWritesTracker readYourWritesTracker) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            if (properties.isMigrateReplicas()) {
+                migrate(replica, flywayProperties);
+            }
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaDataSource);
+    }
+
+    /**
+     * Release the connection after every transaction instead of holding it for the whole session,
+     * so a session kept open for rendering the view gets a newly routed connection per transaction.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Apply the migrations of the database vendor, resolving {@code {vendor}} in the locations as Spring Boot does.
+     * Runs on its own connection, as the replica pool only hands out read-only connections.
+     */
+    private static void migrate(ReplicaRoutingProperties.Replica replica, FlywayProperties flywayProperties) {
+        String vendor = DatabaseDriver.fromJdbcUrl(replica.getUrl()).getId();
+        Flyway.configure()
+                .dataSource(replica.getUrl(), replica.getUsername(), replica.getPassword())
+                .locations(flywayProperties.getLocations().stream()
+                        .map(location -> location.replace("{vendor}", vendor))
+                        .toArray(String[]::new))
+                .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                .baselineVersion(flywayProperties.getBaselineVersion())
+                .load()
+                .migrate();
+    }
+}
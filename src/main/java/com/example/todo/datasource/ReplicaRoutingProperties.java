@@ -0,0 +1,36 @@
+package com.example.todo.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas that serve read-only transactions, while {@code spring.datasource} stays the primary.
+ * Example: {@code todo.datasource.replicas[0].url=jdbc:mysql://replica-1/todo}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "todo.datasource")
+public class ReplicaRoutingProperties {
+
+    /** Replica connection settings; routing is only enabled if at least one is configured. */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** How long after committing a write a client keeps reading from the primary. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** Apply the schema migrations to the replicas too, for local replicas that are not replicated. */
+    private boolean migrateReplicas = false;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.todo.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+}
@@ -0,0 +1,27 @@
+package com.example.todo.dto;
+
+import com.example.todo.util.ChangeOperation;
+import com.example.todo.util.EntityType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change to a todo list, todo or note, as pushed to change feed subscribers.
+ * The sequence number is sent as the SSE event ID rather than in the payload.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+    @JsonIgnore
+    private long sequence;
+    private EntityType entityType;
+    private Long id;
+    private Long todoListId;
+    private ChangeOperation operation;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change indicator for a collection: its size and latest update time.
+ * {@code lastUpdatedAt} is null for an empty collection.
+ */
+@Data
+@AllArgsConstructor
+public class CollectionVersion {
+    private long count;
+    private LocalDateTime lastUpdatedAt;
+}
@@ -0,0 +1,66 @@
+package com.example.todo.dto;
+
+import com.example.todo.util.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the dashboard feed.
+ * The feed is ordered by update time (newest first), then entity type, then ID (highest first).
+ * Encoded as an opaque URL-safe token for clients.
+ */
+@Data
+@AllArgsConstructor
+public class DashboardCursor {
+    private LocalDateTime updatedAt;
+    private EntityType entityType;
+    private Long id;
+
+    public static DashboardCursor of(DashboardItem item) {
+        return new DashboardCursor(item.getUpdatedAt(), item.getEntityType(), item.getId());
+    }
+
+    /**
+     * Encode this cursor as an opaque token.
+     */
+    public String encode() {
+        String raw = updatedAt + "|" + entityType.name() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token created by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static DashboardCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid dashboard cursor");
+            }
+            return new DashboardCursor(LocalDateTime.parse(parts[0]), EntityType.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid dashboard cursor", e);
+        }
+    }
+
+    /**
+     * Upper ID bound for items of the given type that share this cursor's update time.
+     * Types ordered before the cursor's type are excluded entirely, types ordered after it are included entirely.
+     */
+    public long idBoundFor(EntityType type) {
+        if (type == entityType) {
+            return id;
+        }
+        return type.ordinal() > entityType.ordinal() ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the dashboard feed.
+ * {@code nextCursor} is null when there are no more items.
+ */
+@Data
+@AllArgsConstructor
+public class DashboardPage {
+    private List<DashboardItem> items;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optimistic locking version of a single entity and its latest update time.
+ * {@code updatedAt} is null for entities without an update time.
+ */
+@Data
+@AllArgsConstructor
+public class EntityVersion {
+    private long version;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.example.todo.dto;
+
+import lombok.Data;
+
+/**
+ * Summary of an NDJSON import. The counts cover the committed records only.
+ */
+@Data
+public class ImportResult {
+    private long todoLists;
+    private long todos;
+    private long notes;
+    private long skipped;
+    private long durationMillis;
+    private double recordsPerSecond;
+    /** Why the import stopped before the end of the input, null if all records were read. */
+    private String error;
+    /**
+     * First input line that was not imported when the import stopped early, counting from 1:
+     * the start of the chunk that was rolled back. Null if all records were read.
+     */
+    private Long firstRejectedLine;
+}
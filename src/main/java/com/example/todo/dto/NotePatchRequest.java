@@ -0,0 +1,24 @@
+package com.example.todo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Text edits to apply to a note body, in order, against the version the client last saw.
+ */
+@Data
+public class NotePatchRequest {
+
+    @NotNull(message = "Base version is required")
+    private Long baseVersion;
+
+    @Valid
+    @NotEmpty(message = "At least one edit is required")
+    @Size(max = 1000, message = "A patch cannot exceed 1000 edits")
+    private List<@NotNull(message = "Edits cannot be null") NoteTextEdit> edits;
+}
@@ -0,0 +1,18 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a note patch: the new version and body length in code points, without echoing the body.
+ */
+@Data
+@AllArgsConstructor
+public class NotePatchResult {
+    private Long id;
+    private long version;
+    private int bodyLength;
+    private LocalDateTime updatedAt;
+}
@@ -12,4 +12,9 @@ public class NoteRequest {
     private String title;
 
     private String body;
+
+    /**
+     * Version the edit is based on. If set, the edit is rejected when the note has changed since.
+     */
+    private Long version;
 }
@@ -10,6 +10,7 @@ public class NoteResponse implements DashboardItem {
     private Long id;
     private String title;
     private String body;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
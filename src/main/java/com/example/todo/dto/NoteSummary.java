@@ -0,0 +1,28 @@
+package com.example.todo.dto;
+
+import com.example.todo.util.EntityType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary view of a note with a truncated excerpt instead of the full body.
+ */
+@Data
+public class NoteSummary implements DashboardItem {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private int bodyLength;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Notes do not have progress
+    public String getProgressString() {
+        return null;
+    }
+
+    public EntityType getEntityType() {
+        return EntityType.NOTE;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.todo.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * A single text edit: delete {@code deleteCount} characters at {@code position}, then insert {@code insert} there.
+ * Positions and counts are in Unicode code points, so a character outside the Basic Multilingual Plane
+ * counts once. Positions count from 0 and refer to the text after all previous edits of the same patch.
+ */
+@Data
+public class NoteTextEdit {
+
+    @Min(value = 0, message = "Position cannot be negative")
+    private int position;
+
+    @Min(value = 0, message = "Delete count cannot be negative")
+    private int deleteCount;
+
+    private String insert;
+}
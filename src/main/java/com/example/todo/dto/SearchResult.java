@@ -0,0 +1,19 @@
+package com.example.todo.dto;
+
+import com.example.todo.util.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A ranked search hit.
+ * {@code todoListId} is set for todos and points to the list containing them.
+ */
+@Data
+@AllArgsConstructor
+public class SearchResult {
+    private EntityType entityType;
+    private Long id;
+    private Long todoListId;
+    private String title;
+    private double score;
+}
@@ -0,0 +1,30 @@
+package com.example.todo.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * A single operation in a todo batch request.
+ * {@code todoId} is required for all types except CREATE,
+ * {@code description} is required for CREATE and UPDATE.
+ */
+@Data
+public class TodoBatchOperation {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        COMPLETE,
+        INCOMPLETE,
+        DELETE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    private Long todoId;
+
+    @Size(max = 200, message = "Description cannot exceed 200 characters")
+    private String description;
+}
@@ -0,0 +1,17 @@
+package com.example.todo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TodoBatchRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 5000, message = "A batch cannot exceed 5000 operations")
+    private List<TodoBatchOperation> operations;
+}
@@ -0,0 +1,23 @@
+package com.example.todo.dto;
+
+import lombok.Data;
+
+/**
+ * Outcome of a single operation in a todo batch, in request order.
+ * {@code todo} holds the resulting todo for successful non-delete operations.
+ */
+@Data
+public class TodoBatchResult {
+
+    public enum Status {
+        OK,
+        NOT_FOUND,
+        INVALID
+    }
+
+    private int index;
+    private TodoBatchOperation.Type type;
+    private Status status;
+    private TodoResponse todo;
+    private String error;
+}
@@ -10,4 +10,9 @@ public class TodoListRequest {
     @NotBlank(message = "Name is required")
     @Size(max = 200, message = "Name cannot exceed 200 characters")
     private String name;
+
+    /**
+     * Version the edit is based on. If set, the edit is rejected when the list has changed since.
+     */
+    private Long version;
 }
\ No newline at end of file
@@ -11,30 +11,22 @@ public class TodoListResponse implements DashboardItem {
     private Long id;
     private String name;
     private List<TodoResponse> todos;
+    private int totalTodos;
+    private int completedTodos;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-
-    public int getTotalTodos() {
-        return todos != null ? todos.size() : 0;
-    }
-
-    public int getCompletedTodos() {
-        return todos != null
-                ? (int) todos.stream().filter(TodoResponse::isCompleted).count()
-                : 0;
-    }
-
     public String getProgressString() {
-        return getCompletedTodos() + "/" + getTotalTodos();
+        return completedTodos + "/" + totalTodos;
     }
 
     @Override
     public int getCompletionPercentage() {
-        if (getTotalTodos() == 0) {
+        if (totalTodos == 0) {
             return 0;
         }
-        return (int) Math.round((double) getCompletedTodos() / getTotalTodos() * 100.0);
+        return (int) Math.round((double) completedTodos / totalTodos * 100.0);
     }
 
     public String getTitle() {
@@ -0,0 +1,46 @@
+package com.example.todo.dto;
+
+import com.example.todo.util.EntityType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dashboard view of a todo list.
+ * Carries precomputed counts and only the first few todos instead of the whole list.
+ */
+@Data
+public class TodoListSummary implements DashboardItem {
+    private Long id;
+    private String name;
+    private int totalTodos;
+    private int completedTodos;
+    private List<TodoResponse> previewTodos;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public int getPendingTodos() {
+        return totalTodos - completedTodos;
+    }
+
+    public String getProgressString() {
+        return completedTodos + "/" + totalTodos;
+    }
+
+    @Override
+    public int getCompletionPercentage() {
+        if (totalTodos == 0) {
+            return 0;
+        }
+        return (int) Math.round((double) completedTodos / totalTodos * 100.0);
+    }
+
+    public String getTitle() {
+        return name;
+    }
+
+    public EntityType getEntityType() {
+        return EntityType.TODOLIST;
+    }
+}
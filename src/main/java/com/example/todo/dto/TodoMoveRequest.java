@@ -0,0 +1,12 @@
+package com.example.todo.dto;
+
+import lombok.Data;
+
+/**
+ * New place of a todo within its list.
+ * The todo is placed directly after {@code afterTodoId}, or first in the list if it is null.
+ */
+@Data
+public class TodoMoveRequest {
+    private Long afterTodoId;
+}
@@ -7,4 +7,9 @@ import jakarta.validation.constraints.NotBlank;
 public class TodoRequest {
     @NotBlank(message = "Description is required")
     private String description;
+
+    /**
+     * Version the edit is based on. If set, the edit is rejected when the todo has changed since.
+     */
+    private Long version;
 }
\ No newline at end of file
@@ -8,5 +8,6 @@ public class TodoResponse {
     private Long id;
     private String description;
     private boolean completed;
+    private Long version;
 
 }
@@ -0,0 +1,28 @@
+package com.example.todo.dto;
+
+import com.example.todo.util.EntityType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an NDJSON export or import.
+ * Which fields are set depends on {@code type}:
+ * TODOLIST uses name, TODO uses todoListId, description and completed, NOTE uses title and body.
+ * IDs are those of the exporting database and are remapped on import.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferRecord {
+    private EntityType type;
+    private Long id;
+    private Long todoListId;
+    private String name;
+    private String description;
+    private Boolean completed;
+    private String title;
+    private String body;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
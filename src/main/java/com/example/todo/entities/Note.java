@@ -1,9 +1,13 @@
 package com.example.todo.entities;
 
+import com.example.todo.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,6 +16,8 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.NOTES)
 @NoArgsConstructor
 @Table(name = "notes")
 @EntityListeners(AuditingEntityListener.class)
@@ -28,6 +34,14 @@ public class Note {
     @Column(columnDefinition = "MEDIUMTEXT")
     private String body;
 
+    /**
+     * Incremented on every change, including in-place edits made by bulk updates.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
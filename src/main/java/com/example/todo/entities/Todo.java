@@ -1,20 +1,31 @@
 package com.example.todo.entities;
 
+import com.example.todo.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TODOS)
 @Table(name = "todos")
 @Data
 @NoArgsConstructor
 public class Todo {
 
+    public static final long POSITION_GAP = 65536;
+
+    /**
+     * Pooled sequence IDs let Hibernate batch inserts, which IDENTITY columns prevent.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_id_seq")
+    @SequenceGenerator(name = "todo_id_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -24,23 +35,27 @@ public class Todo {
     @Column(nullable = false)
     private Boolean completed = false;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "todo_list_id", nullable = false)
-    private TodoList todoList;
+    /**
+     * User-defined order within the list, ascending. New todos are appended {@code POSITION_GAP} apart,
+     * so a todo can be moved between two others by writing only its own position.
+     */
+    @ColumnDefault("0")
+    @OptimisticLock(excluded = true)
+    @Column(nullable = false)
+    private long position;
 
     /**
-     * Update parent todo list timestamp when todo is modified.
-     * Ensure todo list shows correct "last updated" time.
+     * Incremented on every change except moves, including by the bulk completion toggle.
+     * Renumbering a list on a move would otherwise conflict with edits of unrelated todos.
      */
-    @PrePersist
-    @PreUpdate
-    @PreRemove
-    private void prePersistUpdateRemove() {
-        System.out.println("Todo callback fired for: " + this.description);
-        if (todoList != null) {
-            todoList.setUpdatedAt(LocalDateTime.now());
-        }
-    }
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "todo_list_id", nullable = false)
+    private TodoList todoList;
 
     public Todo(String description, TodoList todoList) {
         this.description = description;
@@ -1,9 +1,16 @@
 package com.example.todo.entities;
 
+import com.example.todo.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,8 +21,12 @@ import java.util.List;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TODO_LISTS)
+@DynamicUpdate
 @NoArgsConstructor
 @Table(name = "todo_lists")
+@SQLRestriction("deleted_at IS NULL")
 @EntityListeners(AuditingEntityListener.class)
 public class TodoList {
 
@@ -27,9 +38,36 @@ public class TodoList {
     @Size(max = 200, message = "Name cannot exceed 200 characters")
     private String name;
 
+    /**
+     * Excluded from optimistic locking: todo changes must not conflict with edits of the list itself.
+     */
+    @OrderBy("completed ASC, position ASC, id ASC")
+    @OptimisticLock(excluded = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TODO_LIST_TODOS)
     @OneToMany(mappedBy = "todoList", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<Todo> todos = new ArrayList<>();
 
+    /**
+     * Denormalized todo counts, maintained by TodoListChangeTracker with atomic increments.
+     * Never set on a managed entity; @DynamicUpdate keeps them out of entity updates.
+     */
+    @ColumnDefault("0")
+    @Column(name = "total_todos", nullable = false)
+    private int totalTodos;
+
+    @ColumnDefault("0")
+    @Column(name = "completed_todos", nullable = false)
+    private int completedTodos;
+
+    /**
+     * Incremented when the list itself is renamed or deleted. Todo changes only move the counters
+     * and the update time, so they never conflict with a rename.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -38,6 +76,13 @@ public class TodoList {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Set when the list is soft-deleted. Deleted lists are excluded from all entity queries
+     * and removed with their todos by {@link com.example.todo.services.TodoListPurgeJob}.
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     public TodoList(String name) {
         this.name = name;
     }
@@ -0,0 +1,11 @@
+package com.example.todo.metrics;
+
+/**
+ * Thrown when a request runs more SQL statements than its budget allows and the budget mode is FAIL.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todo.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maximum number of SQL statements a single request may run, per endpoint URI pattern.
+ * Example: {@code todo.query-budget.endpoints[/api/todo-lists/{listId}]=3}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "todo.query-budget")
+public class QueryBudgetProperties {
+
+    public enum Mode {
+        /** Do not check budgets. */
+        OFF,
+        /** Log a warning when a request exceeds its budget. */
+        LOG,
+        /** Throw {@link QueryBudgetExceededException}, meant for tests. */
+        FAIL
+    }
+
+    private Mode mode = Mode.LOG;
+
+    /** Budget of endpoints without an entry in {@link #endpoints}. */
+    private int defaultBudget = 20;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String uriPattern) {
+        return endpoints.getOrDefault(uriPattern, defaultBudget);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todo.metrics;
+
+/**
+ * Per-thread counters of SQL statements and entity loads, reset at the start of each request.
+ * Fed by Hibernate through {@link HibernateMetricsConfig}; read by {@link RequestMetricsFilter}.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<long[]> COUNTERS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private QueryStats() {
+    }
+
+    public static void reset() {
+        long[] counters = COUNTERS.get();
+        counters[0] = 0;
+        counters[1] = 0;
+    }
+
+    public static long statements() {
+        return COUNTERS.get()[0];
+    }
+
+    public static long entityLoads() {
+        return COUNTERS.get()[1];
+    }
+
+    static void statementPrepared() {
+        COUNTERS.get()[0]++;
+    }
+
+    static void entityLoaded() {
+        COUNTERS.get()[1]++;
+    }
+}
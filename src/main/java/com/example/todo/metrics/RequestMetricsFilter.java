@@ -0,0 +1,73 @@
+package com.example.todo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements and entity loads of each request, per endpoint,
+ * and checks the statement count against the endpoint's query budget.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties queryBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                String uri = pattern.toString();
+                record("todo.request.sql.statements", uri, request.getMethod(), QueryStats.statements());
+                record("todo.request.entity.loads", uri, request.getMethod(), QueryStats.entityLoads());
+            }
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            checkBudget(pattern.toString(), request.getMethod(), QueryStats.statements());
+        }
+    }
+
+    private void checkBudget(String uri, String method, long statements) {
+        if (queryBudget.getMode() == QueryBudgetProperties.Mode.OFF) {
+            return;
+        }
+        int budget = queryBudget.budgetFor(uri);
+        if (statements <= budget) {
+            return;
+        }
+        String message = method + " " + uri + " ran " + statements + " SQL statements, budget is " + budget;
+        if (queryBudget.getMode() == QueryBudgetProperties.Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private void record(String name, String uri, String method, long value) {
+        DistributionSummary.builder(name)
+                .tag("uri", uri)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(value);
+    }
+}
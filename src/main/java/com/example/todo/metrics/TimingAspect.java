@@ -0,0 +1,57 @@
+package com.example.todo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public service method and controller handler.
+ * Ordered outside the caching and transaction advice, so service timings include cache hits
+ * and commits; handler timings stop before the view is rendered.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.example.todo.services.TodoService.*(..))"
+            + " || execution(public * com.example.todo.services.NoteService.*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("todo.service.method", joinPoint);
+    }
+
+    @Around("within(com.example.todo.controller..*)"
+            + " && (@within(org.springframework.web.bind.annotation.RestController)"
+            + " || @within(org.springframework.stereotype.Controller))"
+            + " && execution(public * *(..))")
+    public Object timeControllerHandler(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("todo.controller.handler", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
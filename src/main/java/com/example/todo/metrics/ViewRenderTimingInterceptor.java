@@ -0,0 +1,46 @@
+package com.example.todo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Times Thymeleaf rendering separately from the handler: from after the handler returns
+ * a view until the response is complete.
+ */
+@Component
+@RequiredArgsConstructor
+public class ViewRenderTimingInterceptor implements HandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = ViewRenderTimingInterceptor.class.getName() + ".sample";
+    private static final String VIEW_ATTRIBUTE = ViewRenderTimingInterceptor.class.getName() + ".view";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample) {
+            sample.stop(Timer.builder("todo.view.render")
+                    .tag("view", String.valueOf(request.getAttribute(VIEW_ATTRIBUTE)))
+                    .tag("outcome", ex == null ? "success" : ex.getClass().getSimpleName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.todo.repositories;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Query functions that count Unicode code points on every database, for note edits whose offsets
+ * must mean the same characters to the client, the service and the database.
+ * <ul>
+ *     <li>{@code codepoint_length(text)}: number of code points</li>
+ *     <li>{@code codepoint_left(text, count)}: the first {@code count} code points</li>
+ *     <li>{@code codepoint_from(text, start)}: the code points from {@code start} (1-based) to the end</li>
+ * </ul>
+ * MySQL's string functions already count code points. H2's count UTF-16 code units, so there the
+ * functions use Java regular expressions, which match a surrogate pair as one character.
+ * The patterns avoid {@code ?}, which Hibernate would read as an argument placeholder.
+ * Registered through {@code META-INF/services}.
+ */
+public class CodePointFunctions implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicType<Integer> integerType = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.INTEGER);
+        BasicType<String> stringType = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.STRING);
+
+        if (functionContributions.getDialect() instanceof H2Dialect) {
+            registry.registerPattern("codepoint_length",
+                    "char_length(regexp_replace(?1,'[\\s\\S]','x'))", integerType);
+            registry.registerPattern("codepoint_left",
+                    "coalesce(regexp_substr(?1,concat('^[\\s\\S]{0,',?2,'}')),'')", stringType);
+            registry.registerPattern("codepoint_from",
+                    "regexp_replace(?1,concat('^[\\s\\S]{0,',?2-1,'}'),'')", stringType);
+        } else {
+            registry.registerPattern("codepoint_length", "char_length(?1)", integerType);
+            registry.registerPattern("codepoint_left", "substring(?1,1,?2)", stringType);
+            registry.registerPattern("codepoint_from", "substring(?1,?2)", stringType);
+        }
+    }
+}
@@ -1,9 +1,174 @@
 package com.example.todo.repositories;
 
 import com.example.todo.entities.Note;
+import com.example.todo.repositories.projections.CollectionVersionView;
+import com.example.todo.repositories.projections.EntityVersionView;
+import com.example.todo.repositories.projections.NoteEditStateView;
+import com.example.todo.repositories.projections.NoteSummaryView;
+import com.example.todo.repositories.projections.NoteView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
+
+    @Query("SELECT n.updatedAt FROM Note n WHERE n.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT n.version AS version, n.updatedAt AS updatedAt FROM Note n WHERE n.id = :id")
+    Optional<EntityVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(n.id) AS count, MAX(n.updatedAt) AS lastUpdatedAt FROM Note n")
+    CollectionVersionView findCollectionVersion();
+
+    /**
+     * Retrieve the version of a note and the length of its body in code points, without the body.
+     */
+    @Query("SELECT n.version AS version, codepoint_length(n.body) AS bodyLength FROM Note n WHERE n.id = :id")
+    Optional<NoteEditStateView> findEditStateById(@Param("id") Long id);
+
+    @Query("SELECT n.id AS id, n.title AS title, n.body AS body, n.createdAt AS createdAt, n.updatedAt AS updatedAt FROM Note n WHERE n.id = :id")
+    Optional<NoteView> findViewById(@Param("id") Long id);
+
+    /**
+     * Increment the version of a note if it is still at {@code version}.
+     * Also takes the row lock that serializes concurrent edits until the transaction ends.
+     *
+     * @return 1 if the note was at the expected version, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+            UPDATE Note n SET n.version = n.version + 1, n.updatedAt = :updatedAt
+            WHERE n.id = :id AND n.version = :version
+            """)
+    int incrementVersion(@Param("id") Long id, @Param("version") long version,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Replace the body code points from {@code position} (0-based) up to {@code tailStart - 1} (1-based) with
+     * {@code insert}, inside the database, so only the edit is sent over the wire.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Note n SET n.body = CONCAT(codepoint_left(COALESCE(n.body, ''), :position), :insert,
+                                              codepoint_from(COALESCE(n.body, ''), :tailStart))
+            WHERE n.id = :id
+            """)
+    int spliceBody(@Param("id") Long id, @Param("position") int position,
+                   @Param("insert") String insert, @Param("tailStart") int tailStart);
+
+    /**
+     * Retrieve all notes with their body truncated to {@code excerptLength} characters,
+     * most recently updated first. The full body is never read into memory.
+     */
+    @Query("""
+            SELECT n.id AS id, n.title AS title, n.createdAt AS createdAt, n.updatedAt AS updatedAt,
+                   SUBSTRING(n.body, 1, :excerptLength) AS excerpt, LENGTH(n.body) AS bodyLength
+            FROM Note n
+            ORDER BY n.updatedAt DESC, n.id DESC
+            """)
+    List<NoteSummaryView> findAllSummaries(@Param("excerptLength") int excerptLength);
+
+    /**
+     * Stream the summaries of all notes, most recently updated first, from a database cursor.
+     * Must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT n.id AS id, n.title AS title, n.createdAt AS createdAt, n.updatedAt AS updatedAt,
+                   SUBSTRING(n.body, 1, :excerptLength) AS excerpt, LENGTH(n.body) AS bodyLength
+            FROM Note n
+            ORDER BY n.updatedAt DESC, n.id DESC
+            """)
+    Stream<NoteSummaryView> streamAllSummaries(@Param("excerptLength") int excerptLength);
+
+    /**
+     * Retrieve a single note with its body truncated to {@code excerptLength} characters.
+     */
+    @Query("""
+            SELECT n.id AS id, n.title AS title, n.createdAt AS createdAt, n.updatedAt AS updatedAt,
+                   SUBSTRING(n.body, 1, :excerptLength) AS excerpt, LENGTH(n.body) AS bodyLength
+            FROM Note n
+            WHERE n.id = :id
+            """)
+    Optional<NoteSummaryView> findSummaryById(@Param("excerptLength") int excerptLength, @Param("id") Long id);
+
+    /**
+     * Delete a note without loading it first.
+     * With a {@code version}, the note is only deleted if it is still at that version.
+     *
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM Note n WHERE n.id = :id AND (:version IS NULL OR n.version = :version)")
+    int deleteNoteById(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Retrieve the first page of notes with their body truncated to {@code excerptLength} characters,
+     * most recently updated first.
+     */
+    @Query("""
+            SELECT n.id AS id, n.title AS title, n.createdAt AS createdAt, n.updatedAt AS updatedAt,
+                   SUBSTRING(n.body, 1, :excerptLength) AS excerpt, LENGTH(n.body) AS bodyLength
+            FROM Note n
+            ORDER BY n.updatedAt DESC, n.id DESC
+            """)
+    List<NoteSummaryView> findSummaryPage(@Param("excerptLength") int excerptLength, Pageable pageable);
+
+    /**
+     * Retrieve the next page of note summaries after a keyset position.
+     * Notes updated at exactly {@code updatedAt} are only included if their ID is below {@code idBound}.
+     */
+    @Query("""
+            SELECT n.id AS id, n.title AS title, n.createdAt AS createdAt, n.updatedAt AS updatedAt,
+                   SUBSTRING(n.body, 1, :excerptLength) AS excerpt, LENGTH(n.body) AS bodyLength
+            FROM Note n
+            WHERE n.updatedAt < :updatedAt OR (n.updatedAt = :updatedAt AND n.id < :idBound)
+            ORDER BY n.updatedAt DESC, n.id DESC
+            """)
+    List<NoteSummaryView> findSummaryPageAfter(@Param("excerptLength") int excerptLength,
+                                               @Param("updatedAt") LocalDateTime updatedAt,
+                                               @Param("idBound") long idBound,
+                                               Pageable pageable);
+
+    /**
+     * Stream all notes including their bodies in ID order from a database cursor.
+     * Must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("""
+            SELECT n.id AS id, n.title AS title, n.body AS body, n.createdAt AS createdAt, n.updatedAt AS updatedAt
+            FROM Note n
+            ORDER BY n.id
+            """)
+    Stream<NoteView> streamAll();
+
+    /**
+     * Set the creation and update time of a note, e.g. to those of an imported record.
+     * A null time leaves the current value.
+     *
+     * @return number of updated notes, 0 if the note does not exist
+     */
+    @Modifying
+    @Query("""
+            UPDATE Note n
+            SET n.createdAt = COALESCE(:createdAt, n.createdAt),
+                n.updatedAt = COALESCE(:updatedAt, n.updatedAt)
+            WHERE n.id = :id
+            """)
+    int restoreTimestamps(@Param("id") Long id,
+                          @Param("createdAt") LocalDateTime createdAt,
+                          @Param("updatedAt") LocalDateTime updatedAt);
 }
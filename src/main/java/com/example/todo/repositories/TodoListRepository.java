@@ -1,9 +1,212 @@
 package com.example.todo.repositories;
 
 import com.example.todo.entities.TodoList;
+import com.example.todo.repositories.projections.CollectionVersionView;
+import com.example.todo.repositories.projections.EntityVersionView;
+import com.example.todo.repositories.projections.TodoListSummaryView;
+import com.example.todo.repositories.projections.TodoListTodoRowView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface TodoListRepository extends JpaRepository<TodoList, Long> {
+
+    @Query("SELECT l.updatedAt FROM TodoList l WHERE l.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT l.version AS version, l.updatedAt AS updatedAt FROM TodoList l WHERE l.id = :id")
+    Optional<EntityVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(l.id) AS count, MAX(l.updatedAt) AS lastUpdatedAt FROM TodoList l")
+    CollectionVersionView findCollectionVersion();
+
+    /**
+     * Retrieve a todo list with its todo counts, without its todos.
+     */
+    @Query("""
+            SELECT l.id AS id, l.name AS name, l.createdAt AS createdAt, l.updatedAt AS updatedAt,
+                   l.totalTodos AS totalTodos, l.completedTodos AS completedTodos
+            FROM TodoList l
+            WHERE l.id = :id
+            """)
+    Optional<TodoListSummaryView> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Retrieve all todo lists with their todos loaded in the same query.
+     */
+    @Query("SELECT DISTINCT l FROM TodoList l LEFT JOIN FETCH l.todos ORDER BY l.id")
+    List<TodoList> findAllWithTodos();
+
+    /**
+     * Retrieve the first page of todo lists with their todo counts,
+     * most recently updated first.
+     */
+    @Query("""
+            SELECT l.id AS id, l.name AS name, l.createdAt AS createdAt, l.updatedAt AS updatedAt,
+                   l.totalTodos AS totalTodos, l.completedTodos AS completedTodos
+            FROM TodoList l
+            ORDER BY l.updatedAt DESC, l.id DESC
+            """)
+    List<TodoListSummaryView> findDashboardPage(Pageable pageable);
+
+    /**
+     * Retrieve the next page of todo lists after a keyset position.
+     * Lists updated at exactly {@code updatedAt} are only included if their ID is below {@code idBound}.
+     */
+    @Query("""
+            SELECT l.id AS id, l.name AS name, l.createdAt AS createdAt, l.updatedAt AS updatedAt,
+                   l.totalTodos AS totalTodos, l.completedTodos AS completedTodos
+            FROM TodoList l
+            WHERE l.updatedAt < :updatedAt OR (l.updatedAt = :updatedAt AND l.id < :idBound)
+            ORDER BY l.updatedAt DESC, l.id DESC
+            """)
+    List<TodoListSummaryView> findDashboardPageAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                     @Param("idBound") long idBound,
+                                                     Pageable pageable);
+
+    /**
+     * Stream all todo lists in ID order from a database cursor.
+     * Must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT l.id AS id, l.name AS name, l.createdAt AS createdAt, l.updatedAt AS updatedAt,
+                   l.totalTodos AS totalTodos, l.completedTodos AS completedTodos
+            FROM TodoList l
+            ORDER BY l.id
+            """)
+    Stream<TodoListSummaryView> streamAllSummaries();
+
+    /**
+     * Stream all todo lists joined with their todos from a database cursor: lists in ID order,
+     * each followed by its todos in display order, and a single row without todo for an empty list.
+     * Must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT l.id AS id, l.name AS name, l.totalTodos AS totalTodos, l.completedTodos AS completedTodos,
+                   l.version AS version, l.createdAt AS createdAt, l.updatedAt AS updatedAt,
+                   t.id AS todoId, t.description AS todoDescription, t.completed AS todoCompleted,
+                   t.version AS todoVersion
+            FROM TodoList l LEFT JOIN l.todos t
+            ORDER BY l.id, t.completed, t.position, t.id
+            """)
+    Stream<TodoListTodoRowView> streamAllWithTodos();
+
+    /**
+     * Atomically adjust the todo counters of a list and set its update time.
+     *
+     * @return number of updated lists, 0 if the list does not exist
+     */
+    @Modifying
+    @Query("""
+            UPDATE TodoList l
+            SET l.totalTodos = l.totalTodos + :totalDelta,
+                l.completedTodos = l.completedTodos + :completedDelta,
+                l.updatedAt = :updatedAt
+            WHERE l.id = :id
+            """)
+    int applyTodoChanges(@Param("id") Long id,
+                         @Param("totalDelta") int totalDelta,
+                         @Param("completedDelta") int completedDelta,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Record that a todo of the list was toggled: move the completed counter by the todo's
+     * new status and set the update time. Must run after the toggle in the same transaction.
+     *
+     * @return number of updated lists, 0 if the list does not exist
+     */
+    @Modifying
+    @Query("""
+            UPDATE TodoList l
+            SET l.completedTodos = l.completedTodos
+                    + (SELECT CASE WHEN t.completed = true THEN 1 ELSE -1 END FROM Todo t WHERE t.id = :todoId),
+                l.updatedAt = :updatedAt
+            WHERE l.id = :id
+            """)
+    int applyTodoToggle(@Param("id") Long id,
+                        @Param("todoId") Long todoId,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Delete a todo list row without loading it. Its todos must be deleted first.
+     * With a {@code version}, the list is only deleted if it is still at that version.
+     *
+     * @return number of deleted lists, 0 if the list does not exist or is at another version
+     */
+    @Modifying
+    @Query("DELETE FROM TodoList l WHERE l.id = :id AND (:version IS NULL OR l.version = :version)")
+    int deleteTodoListById(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Hide a todo list from all reads until the purge job deletes it.
+     * With a {@code version}, the list is only deleted if it is still at that version.
+     *
+     * @return number of deleted lists, 0 if the list does not exist, is already deleted or is at another version
+     */
+    @Modifying
+    @Query("""
+            UPDATE TodoList l SET l.deletedAt = :deletedAt, l.version = l.version + 1
+            WHERE l.id = :id AND l.deletedAt IS NULL AND (:version IS NULL OR l.version = :version)
+            """)
+    int softDelete(@Param("id") Long id, @Param("version") Long version, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Retrieve the IDs of soft-deleted lists, oldest deletion first.
+     * Native, because entity queries never see deleted lists.
+     */
+    @Query(value = "SELECT id FROM todo_lists WHERE deleted_at IS NOT NULL ORDER BY deleted_at", nativeQuery = true)
+    List<Long> findSoftDeletedIds(Pageable pageable);
+
+    /**
+     * Delete a soft-deleted list row. Its todos must be deleted first.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todo_lists WHERE id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeSoftDeleted(@Param("id") Long id);
+
+    /**
+     * Recompute the todo counters of every list whose counters drifted from the todos table.
+     *
+     * @return number of repaired lists
+     */
+    @Modifying
+    @Query("""
+            UPDATE TodoList l
+            SET l.totalTodos = (SELECT COUNT(t.id) FROM Todo t WHERE t.todoList.id = l.id),
+                l.completedTodos = (SELECT COUNT(t.id) FROM Todo t WHERE t.todoList.id = l.id AND t.completed = true)
+            WHERE l.totalTodos <> (SELECT COUNT(t.id) FROM Todo t WHERE t.todoList.id = l.id)
+               OR l.completedTodos <> (SELECT COUNT(t.id) FROM Todo t WHERE t.todoList.id = l.id AND t.completed = true)
+            """)
+    int recomputeTodoCounts();
+
+    /**
+     * Set the creation and update time of a list, e.g. to those of an imported record.
+     * A null time leaves the current value.
+     *
+     * @return number of updated lists, 0 if the list does not exist
+     */
+    @Modifying
+    @Query("""
+            UPDATE TodoList l
+            SET l.createdAt = COALESCE(:createdAt, l.createdAt),
+                l.updatedAt = COALESCE(:updatedAt, l.updatedAt)
+            WHERE l.id = :id
+            """)
+    int restoreTimestamps(@Param("id") Long id,
+                          @Param("createdAt") LocalDateTime createdAt,
+                          @Param("updatedAt") LocalDateTime updatedAt);
 }
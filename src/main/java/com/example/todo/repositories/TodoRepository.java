@@ -1,14 +1,136 @@
 package com.example.todo.repositories;
 
 import com.example.todo.entities.Todo;
+import com.example.todo.repositories.projections.TodoPreviewView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
-    List<Todo> findByTodoListId(Long todoListId);
-    List<Todo> findByTodoListIdAndCompleted(Long todoListId, Boolean completed);
-    Optional<Todo> findByIdAndTodoListId(Long id, Long todoListId);
+
+    // The list queries are cacheable in the second-level cache mode, any todo or list change invalidates them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Todo> findByTodoListIdOrderByPositionAscIdAsc(Long todoListId);
+
+    List<Todo> findByTodoListIdAndIdIn(Long todoListId, Collection<Long> ids);
+
+    // Todos of soft-deleted lists stay in the table until purged, so lookups by list check the list
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT t FROM Todo t
+            WHERE t.todoList.id = :todoListId AND t.todoList.deletedAt IS NULL
+            ORDER BY t.completed, t.position, t.id
+            """)
+    List<Todo> findByTodoListIdOrderByCompletedAscPositionAscIdAsc(@Param("todoListId") Long todoListId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT t FROM Todo t
+            WHERE t.todoList.id = :todoListId AND t.todoList.deletedAt IS NULL AND t.completed = :completed
+            ORDER BY t.position, t.id
+            """)
+    List<Todo> findByTodoListIdAndCompletedOrderByPositionAscIdAsc(@Param("todoListId") Long todoListId,
+                                                                   @Param("completed") Boolean completed);
+
+    @Query("SELECT t FROM Todo t WHERE t.id = :id AND t.todoList.id = :todoListId AND t.todoList.deletedAt IS NULL")
+    Optional<Todo> findByIdAndTodoListId(@Param("id") Long id, @Param("todoListId") Long todoListId);
+
+    @Query("""
+            SELECT t.id AS id, t.todoList.id AS todoListId, t.description AS description, t.completed AS completed,
+                   t.version AS version
+            FROM Todo t
+            WHERE t.id = :id
+            """)
+    Optional<TodoPreviewView> findPreviewById(@Param("id") Long id);
+
+    @Query("SELECT MAX(t.position) FROM Todo t WHERE t.todoList.id = :listId")
+    Optional<Long> findLastPosition(@Param("listId") Long listId);
+
+    @Query("SELECT MIN(t.position) FROM Todo t WHERE t.todoList.id = :listId AND t.id <> :excludedId")
+    Optional<Long> findFirstPosition(@Param("listId") Long listId, @Param("excludedId") Long excludedId);
+
+    /**
+     * Retrieve the positions of the todos that follow a todo in list order, nearest first.
+     * Request a single row to find the next one.
+     */
+    @Query("""
+            SELECT t.position FROM Todo t
+            WHERE t.todoList.id = :listId AND t.id <> :excludedId
+              AND (t.position > :position OR (t.position = :position AND t.id > :id))
+            ORDER BY t.position, t.id
+            """)
+    List<Long> findPositionsAfter(@Param("listId") Long listId,
+                                  @Param("position") long position,
+                                  @Param("id") Long id,
+                                  @Param("excludedId") Long excludedId,
+                                  Pageable pageable);
+
+    /**
+     * Delete all todos of a list with a single statement, without loading them.
+     *
+     * @return the number of deleted todos
+     */
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.todoList.id = :listId")
+    int deleteByTodoListId(@Param("listId") Long listId);
+
+    /**
+     * Flip the completion status of a todo in a single statement.
+     * The row lock taken by the update serializes concurrent toggles until the transaction ends.
+     *
+     * @return 1 if the todo exists in a list that is not deleted, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+            UPDATE Todo t SET t.completed = CASE WHEN t.completed = true THEN false ELSE true END,
+                t.version = t.version + 1
+            WHERE t.id = :id AND t.todoList.id = :listId
+              AND EXISTS (SELECT l.id FROM TodoList l WHERE l.id = :listId AND l.deletedAt IS NULL)
+            """)
+    int toggleCompleted(@Param("id") Long id, @Param("listId") Long listId);
+
+    /**
+     * Retrieve the first {@code limit} todos of each given list, pending first, each group in list order.
+     * Todos are numbered per list by a window function, so each list is sorted once.
+     */
+    @Query("""
+            SELECT r.id AS id, r.todoListId AS todoListId, r.description AS description, r.completed AS completed,
+                   r.version AS version
+            FROM (
+                SELECT t.id AS id, t.todoList.id AS todoListId, t.description AS description, t.completed AS completed,
+                       t.version AS version, t.position AS position,
+                       ROW_NUMBER() OVER (PARTITION BY t.todoList.id ORDER BY t.completed, t.position, t.id) AS rowNumber
+                FROM Todo t
+                WHERE t.todoList.id IN :listIds
+            ) r
+            WHERE r.rowNumber <= :limit
+            ORDER BY r.todoListId, r.completed, r.position, r.id
+            """)
+    List<TodoPreviewView> findPreviews(@Param("listIds") Collection<Long> listIds, @Param("limit") long limit);
+
+    /**
+     * Stream the todos of all lists that are not deleted, grouped by list, in list order, from a database cursor.
+     * Must be consumed within a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT t.id AS id, t.todoList.id AS todoListId, t.description AS description, t.completed AS completed,
+                   t.version AS version
+            FROM Todo t
+            WHERE t.todoList.deletedAt IS NULL
+            ORDER BY t.todoList.id, t.position, t.id
+            """)
+    Stream<TodoPreviewView> streamAll();
 }
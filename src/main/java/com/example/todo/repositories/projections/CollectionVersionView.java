@@ -0,0 +1,11 @@
+package com.example.todo.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest update time of a table, used as a cheap change indicator.
+ */
+public interface CollectionVersionView {
+    Long getCount();
+    LocalDateTime getLastUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.example.todo.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version and latest update time of a single row, used for If-Match preconditions and ETags.
+ */
+public interface EntityVersionView {
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+}
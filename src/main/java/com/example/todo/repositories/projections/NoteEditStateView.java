@@ -0,0 +1,9 @@
+package com.example.todo.repositories.projections;
+
+/**
+ * Projection of the state needed to validate an in-place note edit, without the body itself.
+ */
+public interface NoteEditStateView {
+    Long getVersion();
+    Integer getBodyLength();
+}
@@ -0,0 +1,15 @@
+package com.example.todo.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a note without its full body, only a truncated excerpt and the body length.
+ */
+public interface NoteSummaryView {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    Integer getBodyLength();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
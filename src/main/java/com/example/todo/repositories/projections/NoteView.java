@@ -0,0 +1,14 @@
+package com.example.todo.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a full note, not tracked by the persistence context.
+ */
+public interface NoteView {
+    Long getId();
+    String getTitle();
+    String getBody();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
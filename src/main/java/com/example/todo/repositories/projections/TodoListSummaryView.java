@@ -0,0 +1,15 @@
+package com.example.todo.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a todo list with its todo counts, used by the dashboard.
+ */
+public interface TodoListSummaryView {
+    Long getId();
+    String getName();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getTotalTodos();
+    Integer getCompletedTodos();
+}
@@ -0,0 +1,20 @@
+package com.example.todo.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * A todo list joined with one of its todos. The todo columns are null for the single row of an empty list.
+ */
+public interface TodoListTodoRowView {
+    Long getId();
+    String getName();
+    Integer getTotalTodos();
+    Integer getCompletedTodos();
+    Long getVersion();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getTodoId();
+    String getTodoDescription();
+    Boolean getTodoCompleted();
+    Long getTodoVersion();
+}
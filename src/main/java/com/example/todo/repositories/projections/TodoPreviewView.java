@@ -0,0 +1,12 @@
+package com.example.todo.repositories.projections;
+
+/**
+ * Projection of a single todo shown as a preview on a dashboard card.
+ */
+public interface TodoPreviewView {
+    Long getId();
+    Long getTodoListId();
+    String getDescription();
+    Boolean getCompleted();
+    Long getVersion();
+}
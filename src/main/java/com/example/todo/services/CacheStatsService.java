@@ -0,0 +1,49 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports hit, miss and eviction statistics of the service read caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Retrieve statistics for every Caffeine-backed cache.
+     *
+     * @return one entry per cache, empty if caching is disabled
+     */
+    public List<CacheStatsResponse> getCacheStats() {
+        List<CacheStatsResponse> responses = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                responses.add(toResponse(name, nativeCache));
+            }
+        }
+        return responses;
+    }
+
+    private CacheStatsResponse toResponse(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setName(name);
+        response.setSize(cache.estimatedSize());
+        response.setHitCount(stats.hitCount());
+        response.setMissCount(stats.missCount());
+        response.setHitRate(stats.hitRate());
+        response.setEvictionCount(stats.evictionCount());
+        return response;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.ChangeEvent;
+import com.example.todo.util.AfterCommit;
+import com.example.todo.util.ChangeOperation;
+import com.example.todo.util.EntityType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events feed of committed changes.
+ * Recent events are kept in a fixed-size ring buffer so reconnecting clients can resume from
+ * their {@code Last-Event-ID}. All buffer access happens on a single thread, which keeps events
+ * in commit order and hands each event to the bounded queue of every subscriber.
+ * The queues are written out by a small fixed pool of delivery threads, a bounded batch per turn, so a
+ * slow client never delays the others for long and no subscriber holds a thread of its own. A client that
+ * stops reading blocks a delivery thread only until the container's write timeout fails its write;
+ * a subscriber whose queue is full is disconnected and resumes from its last event when it reconnects.
+ * Idle subscribers hold no thread, only an open async request.
+ */
+@Slf4j
+@Service
+public class ChangeFeedService {
+
+    /** Events a delivery task writes to one subscriber before it moves on to others. */
+    private static final int DELIVERY_BATCH = 32;
+
+    private final ChangeEvent[] buffer;
+    private final Duration emitterTimeout;
+    private final int subscriberQueueSize;
+    private final ExecutorService delivery;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Sequence number of the next event; only accessed from the sender thread. */
+    private long nextSequence = 1;
+
+    public ChangeFeedService(@Value("${todo.changes.buffer-size:1024}") int bufferSize,
+                             @Value("${todo.changes.emitter-timeout:30m}") Duration emitterTimeout,
+                             @Value("${todo.changes.subscriber-queue-size:256}") int subscriberQueueSize,
+                             @Value("${todo.changes.delivery-threads:4}") int deliveryThreads) {
+        this.buffer = new ChangeEvent[bufferSize];
+        this.emitterTimeout = emitterTimeout;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * An open change stream with the events not yet written to it.
+     * At most one delivery task drains the queue at a time, so events arrive in order.
+     * A task writes at most {@link #DELIVERY_BATCH} events and then yields its thread to other subscribers.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> pending =
+                new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** Set when the subscriber fell behind; its delivery task then completes the stream. */
+        private volatile boolean disconnected;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queue an event without waiting for the client.
+         *
+         * @return false if the queue is full
+         */
+        private boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+            if (!pending.offer(data)) {
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        /**
+         * Drop the queued events and end the stream from a delivery task, which may have to wait
+         * for a write in progress, so the sender thread never does.
+         */
+        private void disconnect() {
+            disconnected = true;
+            pending.clear();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> data;
+                for (int sent = 0; !disconnected && sent < DELIVERY_BATCH && (data = pending.poll()) != null; sent++) {
+                    emitter.send(data);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The stream is gone; leave the flag set so no further task is scheduled
+                subscribers.remove(this);
+                pending.clear();
+                log.debug("Dropped change feed subscriber: {}", e.getMessage());
+                return;
+            }
+            if (disconnected) {
+                // The flag stays set, so no further task is scheduled
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+            // Events left after a full batch, or a disconnect or event that came after the last poll
+            // but before the flag was cleared, and found the task still running
+            if (disconnected || !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * Publish a change once the current transaction commits.
+     *
+     * @param entityType the type of the changed item
+     * @param id the ID of the changed item
+     * @param todoListId the parent list ID for todos, null otherwise
+     * @param operation what happened to the item
+     * @param updatedAt supplies the item's update time after commit, when timestamps set on flush are final
+     */
+    public void publish(EntityType entityType, Long id, Long todoListId, ChangeOperation operation,
+                        Supplier<LocalDateTime> updatedAt) {
+        AfterCommit.run(() -> {
+            LocalDateTime timestamp = updatedAt.get();
+            sender.execute(() -> append(entityType, id, todoListId, operation, timestamp));
+        });
+    }
+
+    /**
+     * Open a change stream.
+     * If {@code lastEventId} is given, missed events still in the buffer are sent first;
+     * if they are no longer available a {@code reset} event tells the client to reload instead.
+     *
+     * @param lastEventId the ID of the last event the client received, or null
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        sender.execute(() -> {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        });
+        return emitter;
+    }
+
+    /**
+     * Keep idle connections open through proxies that close silent connections.
+     */
+    @Scheduled(fixedRateString = "${todo.changes.heartbeat-interval:30000}")
+    public void sendHeartbeat() {
+        sender.execute(() -> broadcast(SseEmitter.event().comment("heartbeat")));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        delivery.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void append(EntityType entityType, Long id, Long todoListId, ChangeOperation operation,
+                        LocalDateTime updatedAt) {
+        ChangeEvent event = new ChangeEvent(nextSequence++, entityType, id, todoListId, operation, updatedAt);
+        buffer[(int) (event.getSequence() % buffer.length)] = event;
+        broadcast(toSse(event));
+    }
+
+    /**
+     * Queue the events a reconnecting subscriber missed. Runs before the subscriber receives
+     * new events, so its queue is empty.
+     */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = Math.max(1, nextSequence - buffer.length);
+        if (lastEventId < oldest - 1 || lastEventId >= nextSequence
+                || nextSequence - 1 - lastEventId > subscriberQueueSize) {
+            // Events were evicted, the ID is from before a restart, or there are too many to queue
+            subscriber.offer(SseEmitter.event().name("reset").id(String.valueOf(nextSequence - 1)).data("").build());
+            return;
+        }
+        for (long sequence = lastEventId + 1; sequence < nextSequence; sequence++) {
+            subscriber.offer(toSse(buffer[(int) (sequence % buffer.length)]).build());
+        }
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        // Build once: a builder appends its terminating newline on every build
+        Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(data)) {
+                // Fell too far behind
+                subscribers.remove(subscriber);
+                subscriber.disconnect();
+                log.debug("Disconnected change feed subscriber with {} queued events", subscriberQueueSize);
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name("change")
+                .data(event);
+    }
+}
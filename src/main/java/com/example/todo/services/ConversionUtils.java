@@ -1,12 +1,19 @@
 package com.example.todo.services;
 
+import com.example.todo.dto.NoteSummary;
 import com.example.todo.dto.TodoListResponse;
+import com.example.todo.dto.TodoListSummary;
 import com.example.todo.dto.TodoResponse;
 import com.example.todo.dto.NoteResponse;
 import com.example.todo.entities.Todo;
 import com.example.todo.entities.TodoList;
 import com.example.todo.entities.Note;
+import com.example.todo.repositories.projections.NoteSummaryView;
+import com.example.todo.repositories.projections.TodoListSummaryView;
+import com.example.todo.repositories.projections.TodoListTodoRowView;
+import com.example.todo.repositories.projections.TodoPreviewView;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,6 +25,9 @@ public class ConversionUtils {
         TodoListResponse response = new TodoListResponse();
         response.setId(todoList.getId());
         response.setName(todoList.getName());
+        response.setTotalTodos(todoList.getTotalTodos());
+        response.setCompletedTodos(todoList.getCompletedTodos());
+        response.setVersion(todoList.getVersion());
         response.setCreatedAt(todoList.getCreatedAt());
         response.setUpdatedAt(todoList.getUpdatedAt());
 
@@ -31,11 +41,36 @@ public class ConversionUtils {
         return response;
     }
 
+    static TodoListResponse convertListRowToResponse(TodoListTodoRowView row) {
+        TodoListResponse response = new TodoListResponse();
+        response.setId(row.getId());
+        response.setName(row.getName());
+        response.setTotalTodos(row.getTotalTodos() != null ? row.getTotalTodos() : 0);
+        response.setCompletedTodos(row.getCompletedTodos() != null ? row.getCompletedTodos() : 0);
+        response.setVersion(row.getVersion());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        response.setTodos(new ArrayList<>());
+
+        return response;
+    }
+
+    static TodoResponse convertTodoRowToResponse(TodoListTodoRowView row) {
+        TodoResponse response = new TodoResponse();
+        response.setId(row.getTodoId());
+        response.setDescription(row.getTodoDescription());
+        response.setCompleted(Boolean.TRUE.equals(row.getTodoCompleted()));
+        response.setVersion(row.getTodoVersion());
+
+        return response;
+    }
+
     static TodoResponse convertTodoToResponse(Todo todo) {
         TodoResponse response = new TodoResponse();
         response.setId(todo.getId());
         response.setDescription(todo.getDescription());
         response.setCompleted(todo.getCompleted());
+        response.setVersion(todo.getVersion());
 
         return response;
     }
@@ -45,9 +80,45 @@ public class ConversionUtils {
         response.setId(note.getId());
         response.setTitle(note.getTitle());
         response.setBody(note.getBody());
+        response.setVersion(note.getVersion());
         response.setCreatedAt(note.getCreatedAt());
         response.setUpdatedAt(note.getUpdatedAt());
 
         return response;
     }
+
+    static TodoListSummary convertListSummaryToResponse(TodoListSummaryView view, List<TodoResponse> previewTodos) {
+        TodoListSummary response = new TodoListSummary();
+        response.setId(view.getId());
+        response.setName(view.getName());
+        response.setTotalTodos(view.getTotalTodos() != null ? view.getTotalTodos() : 0);
+        response.setCompletedTodos(view.getCompletedTodos() != null ? view.getCompletedTodos() : 0);
+        response.setPreviewTodos(previewTodos);
+        response.setCreatedAt(view.getCreatedAt());
+        response.setUpdatedAt(view.getUpdatedAt());
+
+        return response;
+    }
+
+    static TodoResponse convertTodoPreviewToResponse(TodoPreviewView view) {
+        TodoResponse response = new TodoResponse();
+        response.setId(view.getId());
+        response.setDescription(view.getDescription());
+        response.setCompleted(Boolean.TRUE.equals(view.getCompleted()));
+        response.setVersion(view.getVersion());
+
+        return response;
+    }
+
+    static NoteSummary convertNoteSummaryToResponse(NoteSummaryView view) {
+        NoteSummary response = new NoteSummary();
+        response.setId(view.getId());
+        response.setTitle(view.getTitle());
+        response.setExcerpt(view.getExcerpt());
+        response.setBodyLength(view.getBodyLength() != null ? view.getBodyLength() : 0);
+        response.setCreatedAt(view.getCreatedAt());
+        response.setUpdatedAt(view.getUpdatedAt());
+
+        return response;
+    }
 }
@@ -0,0 +1,140 @@
+package com.example.todo.services;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.dto.DashboardCursor;
+import com.example.todo.dto.DashboardItem;
+import com.example.todo.dto.DashboardPage;
+import com.example.todo.dto.TodoListSummary;
+import com.example.todo.dto.TodoResponse;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.repositories.projections.NoteSummaryView;
+import com.example.todo.repositories.projections.TodoListSummaryView;
+import com.example.todo.repositories.projections.TodoPreviewView;
+import com.example.todo.util.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Read model for the home page dashboard.
+ * Serves the merged feed of todo lists and notes one keyset page at a time,
+ * with a fixed number of queries per page regardless of how many items exist.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    /** Number of todos previewed on a todo list card. */
+    static final int PREVIEW_TODOS = 2;
+
+    /** Number of body characters previewed on a note card. */
+    static final int EXCERPT_LENGTH = 200;
+
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final TodoListRepository todoListRepository;
+    private final TodoRepository todoRepository;
+    private final NoteRepository noteRepository;
+
+    /**
+     * Retrieve one page of dashboard items, most recently updated first.
+     * Fetches at most {@code limit + 1} rows from each table and merges them.
+     * Only the first page is cached: every later page has its own cursor, so caching them would
+     * add an entry per page requested without ever being hit again once the feed changes.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of items, clamped to {@link #MAX_PAGE_SIZE}
+     * @return the page of items and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, key = "#limit", condition = "#cursor == null || #cursor.isBlank()")
+    public DashboardPage getDashboardPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+
+        List<TodoListSummaryView> lists;
+        List<NoteSummaryView> notes;
+        if (cursor == null || cursor.isBlank()) {
+            lists = todoListRepository.findDashboardPage(fetch);
+            notes = noteRepository.findSummaryPage(EXCERPT_LENGTH, fetch);
+        } else {
+            DashboardCursor position = DashboardCursor.decode(cursor);
+            lists = todoListRepository.findDashboardPageAfter(
+                    position.getUpdatedAt(), position.idBoundFor(EntityType.TODOLIST), fetch);
+            notes = noteRepository.findSummaryPageAfter(
+                    EXCERPT_LENGTH, position.getUpdatedAt(), position.idBoundFor(EntityType.NOTE), fetch);
+        }
+
+        List<DashboardItem> listItems = lists.stream()
+                .map(list -> (DashboardItem) ConversionUtils.convertListSummaryToResponse(list, List.of()))
+                .toList();
+        List<DashboardItem> noteItems = notes.stream()
+                .map(ConversionUtils::convertNoteSummaryToResponse)
+                .map(DashboardItem.class::cast)
+                .toList();
+
+        List<DashboardItem> merged = mergeByUpdatedAt(listItems, noteItems);
+        boolean hasMore = merged.size() > pageSize;
+        List<DashboardItem> items = hasMore ? merged.subList(0, pageSize) : merged;
+
+        attachPreviews(items);
+
+        String nextCursor = hasMore ? DashboardCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new DashboardPage(new ArrayList<>(items), nextCursor);
+    }
+
+    /**
+     * Load the preview todos of the todo lists on a page in a single query.
+     */
+    private void attachPreviews(List<DashboardItem> items) {
+        List<TodoListSummary> lists = items.stream()
+                .filter(TodoListSummary.class::isInstance)
+                .map(TodoListSummary.class::cast)
+                .filter(list -> list.getTotalTodos() > 0)
+                .toList();
+        if (lists.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<TodoResponse>> previews = todoRepository.findPreviews(
+                        lists.stream().map(TodoListSummary::getId).toList(), PREVIEW_TODOS)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        TodoPreviewView::getTodoListId,
+                        Collectors.mapping(ConversionUtils::convertTodoPreviewToResponse, Collectors.toList())));
+
+        lists.forEach(list -> list.setPreviewTodos(previews.getOrDefault(list.getId(), List.of())));
+    }
+
+    /**
+     * Merge two lists that are each sorted by update time (newest first) into one sorted list.
+     * On equal update times, items from {@code first} come first, matching the cursor's type order.
+     */
+    static List<DashboardItem> mergeByUpdatedAt(List<DashboardItem> first, List<DashboardItem> second) {
+        List<DashboardItem> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            if (first.get(i).getUpdatedAt().compareTo(second.get(j).getUpdatedAt()) >= 0) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.todo.services;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.dto.ImportResult;
+import com.example.todo.dto.TransferRecord;
+import com.example.todo.entities.Note;
+import com.example.todo.entities.Todo;
+import com.example.todo.entities.TodoList;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.repositories.projections.NoteView;
+import com.example.todo.repositories.projections.TodoListSummaryView;
+import com.example.todo.repositories.projections.TodoPreviewView;
+import com.example.todo.util.AfterCommit;
+import com.example.todo.util.EntityType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming NDJSON export and import of all todo lists, todos and notes.
+ * Export reads from database cursors and import commits in fixed-size chunks,
+ * so memory use does not depend on the amount of data.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataTransferService {
+
+    /** Number of records inserted per import transaction. */
+    static final int IMPORT_CHUNK_SIZE = 500;
+
+    private final TodoListRepository todoListRepository;
+    private final TodoRepository todoRepository;
+    private final NoteRepository noteRepository;
+    private final SearchService searchService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write all todo lists, then all todos, then all notes as NDJSON.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportTo(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransferRecord.class);
+        // Cursors are opened one after another; some drivers allow only one open streaming result per connection.
+        // MySQL streams in fetch-size batches only with useCursorFetch=true on the datasource URL
+        try {
+            try (Stream<TodoListSummaryView> lists = todoListRepository.streamAllSummaries()) {
+                lists.forEach(list -> writeLine(out, writer, toRecord(list)));
+            }
+            try (Stream<TodoPreviewView> todos = todoRepository.streamAll()) {
+                todos.forEach(todo -> writeLine(out, writer, toRecord(todo)));
+            }
+            try (Stream<NoteView> notes = noteRepository.streamAll()) {
+                notes.forEach(note -> writeLine(out, writer, toRecord(note)));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    /**
+     * Read NDJSON records and insert them in chunked transactions.
+     * Todo lists must appear before their todos. IDs are newly generated, creation and update times
+     * are taken from the records; todos whose list was not part of the import are skipped.
+     * An invalid record stops the import: its chunk is rolled back, chunks that were already
+     * committed stay committed and are reported in the result together with the error and the
+     * first line that was not imported. Records that fail bean validation or a database constraint
+     * are rejected the same way as malformed ones.
+     *
+     * @param in the NDJSON stream to read
+     * @return counts and throughput of the committed records, and the error if the import stopped early
+     * @throws IOException if reading fails
+     */
+    @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    public ImportResult importFrom(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult();
+        ImportState state = new ImportState();
+        // One record per line, so the records in committed chunks are the lines imported so far
+        long committed = 0;
+
+        try (MappingIterator<TransferRecord> records = objectMapper.readerFor(TransferRecord.class).readValues(in)) {
+            List<TransferRecord> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            while (records.hasNextValue()) {
+                chunk.add(records.nextValue());
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    addCounts(result, importChunk(chunk, state));
+                    committed += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                addCounts(result, importChunk(chunk, state));
+            }
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            reject(result, committed, e.getMessage());
+        } catch (ConstraintViolationException e) {
+            reject(result, committed, e.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        } catch (DataIntegrityViolationException e) {
+            reject(result, committed, "Record violates a database constraint: " + e.getMostSpecificCause().getMessage());
+        }
+
+        long durationNanos = Math.max(1, System.nanoTime() - start);
+        long imported = result.getTodoLists() + result.getTodos() + result.getNotes();
+        result.setDurationMillis(durationNanos / 1_000_000);
+        result.setRecordsPerSecond(imported * 1_000_000_000.0 / durationNanos);
+        return result;
+    }
+
+    /**
+     * Lists imported so far, carried from chunk to chunk.
+     */
+    private static final class ImportState {
+        /** New list ID by the ID in the export. */
+        private final Map<Long, Long> listIds = new HashMap<>();
+        /** Imported lists are new, so their todos are appended in record order starting from an empty list. */
+        private final Map<Long, Long> lastPositions = new HashMap<>();
+        /** Update time of each new list, kept when its counters move with its imported todos. */
+        private final Map<Long, LocalDateTime> listUpdatedAts = new HashMap<>();
+    }
+
+    /**
+     * Insert one chunk of records in its own transaction and release it from the persistence context.
+     *
+     * @return counts of the records of the chunk, committed once this returns
+     */
+    private ImportResult importChunk(List<TransferRecord> chunk, ImportState state) {
+        ImportResult counts = new ImportResult();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Search index updates capture plain values, the entities are detached after the chunk
+            List<Runnable> indexUpdates = new ArrayList<>();
+            // Counter changes per list; applied directly rather than through the change tracker,
+            // which would set the update time of the lists to now
+            Map<Long, int[]> countDeltas = new LinkedHashMap<>();
+            for (TransferRecord record : chunk) {
+                if (record.getType() == null) {
+                    throw new IllegalArgumentException("Record type is required");
+                }
+                switch (record.getType()) {
+                    case TODOLIST -> {
+                        TodoList todoList = todoListRepository.save(new TodoList(requireText(record.getName(), "name")));
+                        Long id = todoList.getId();
+                        if (hasTimestamps(record)) {
+                            todoListRepository.restoreTimestamps(id, record.getCreatedAt(), record.getUpdatedAt());
+                        }
+                        if (record.getId() != null) {
+                            state.listIds.put(record.getId(), id);
+                        }
+                        state.listUpdatedAts.put(id, record.getUpdatedAt() != null
+                                ? record.getUpdatedAt() : todoList.getUpdatedAt());
+                        String name = todoList.getName();
+                        indexUpdates.add(() -> searchService.indexTodoList(id, name));
+                        counts.setTodoLists(counts.getTodoLists() + 1);
+                    }
+                    case TODO -> {
+                        Long listId = state.listIds.get(record.getTodoListId());
+                        if (listId == null) {
+                            counts.setSkipped(counts.getSkipped() + 1);
+                            continue;
+                        }
+                        Todo todo = new Todo(requireText(record.getDescription(), "description"),
+                                todoListRepository.getReferenceById(listId));
+                        todo.setCompleted(Boolean.TRUE.equals(record.getCompleted()));
+                        todo.setPosition(state.lastPositions.merge(listId, Todo.POSITION_GAP, Long::sum));
+                        todoRepository.save(todo);
+                        Long id = todo.getId();
+                        String description = todo.getDescription();
+                        indexUpdates.add(() -> searchService.indexTodo(id, listId, description));
+                        int[] delta = countDeltas.computeIfAbsent(listId, key -> new int[2]);
+                        delta[0]++;
+                        delta[1] += todo.getCompleted() ? 1 : 0;
+                        counts.setTodos(counts.getTodos() + 1);
+                    }
+                    case NOTE -> {
+                        Note note = noteRepository.save(new Note(record.getTitle(), record.getBody()));
+                        Long id = note.getId();
+                        if (hasTimestamps(record)) {
+                            noteRepository.restoreTimestamps(id, record.getCreatedAt(), record.getUpdatedAt());
+                        }
+                        indexUpdates.add(() -> searchService.indexNote(id, record.getTitle(), record.getBody()));
+                        counts.setNotes(counts.getNotes() + 1);
+                    }
+                }
+            }
+
+            // Flushed through a repository so that constraint violations are translated like those of save()
+            todoRepository.flush();
+            countDeltas.forEach((listId, delta) -> todoListRepository.applyTodoChanges(
+                    listId, delta[0], delta[1], state.listUpdatedAts.get(listId)));
+            AfterCommit.run(() -> indexUpdates.forEach(Runnable::run));
+            entityManager.clear();
+        });
+        return counts;
+    }
+
+    private static void reject(ImportResult result, long committed, String error) {
+        result.setError(error);
+        result.setFirstRejectedLine(committed + 1);
+    }
+
+    private static void addCounts(ImportResult result, ImportResult chunk) {
+        result.setTodoLists(result.getTodoLists() + chunk.getTodoLists());
+        result.setTodos(result.getTodos() + chunk.getTodos());
+        result.setNotes(result.getNotes() + chunk.getNotes());
+        result.setSkipped(result.getSkipped() + chunk.getSkipped());
+    }
+
+    private static boolean hasTimestamps(TransferRecord record) {
+        return record.getCreatedAt() != null || record.getUpdatedAt() != null;
+    }
+
+    private static String requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Record field '" + field + "' is required");
+        }
+        return value;
+    }
+
+    private static void writeLine(OutputStream out, ObjectWriter writer, TransferRecord record) {
+        try {
+            out.write(writer.writeValueAsBytes(record));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TransferRecord toRecord(TodoListSummaryView list) {
+        TransferRecord record = new TransferRecord();
+        record.setType(EntityType.TODOLIST);
+        record.setId(list.getId());
+        record.setName(list.getName());
+        record.setCreatedAt(list.getCreatedAt());
+        record.setUpdatedAt(list.getUpdatedAt());
+        return record;
+    }
+
+    private static TransferRecord toRecord(TodoPreviewView todo) {
+        TransferRecord record = new TransferRecord();
+        record.setType(EntityType.TODO);
+        record.setId(todo.getId());
+        record.setTodoListId(todo.getTodoListId());
+        record.setDescription(todo.getDescription());
+        record.setCompleted(todo.getCompleted());
+        return record;
+    }
+
+    private static TransferRecord toRecord(NoteView note) {
+        TransferRecord record = new TransferRecord();
+        record.setType(EntityType.NOTE);
+        record.setId(note.getId());
+        record.setTitle(note.getTitle());
+        record.setBody(note.getBody());
+        record.setCreatedAt(note.getCreatedAt());
+        record.setUpdatedAt(note.getUpdatedAt());
+        return record;
+    }
+}
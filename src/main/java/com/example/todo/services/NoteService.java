@@ -1,15 +1,34 @@
 package com.example.todo.services;
 
+import com.example.todo.config.CacheConfig;
+import com.example.todo.dto.CollectionVersion;
+import com.example.todo.dto.EntityVersion;
+import com.example.todo.dto.NotePatchRequest;
+import com.example.todo.dto.NotePatchResult;
 import com.example.todo.dto.NoteRequest;
 import com.example.todo.dto.NoteResponse;
+import com.example.todo.dto.NoteSummary;
+import com.example.todo.dto.NoteTextEdit;
 import com.example.todo.entities.Note;
 import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.projections.CollectionVersionView;
+import com.example.todo.repositories.projections.NoteEditStateView;
+import com.example.todo.repositories.projections.NoteSummaryView;
+import com.example.todo.util.AfterCommit;
+import com.example.todo.util.ChangeOperation;
+import com.example.todo.util.EntityType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -17,6 +36,8 @@ import java.util.Optional;
 public class NoteService {
 
     private final NoteRepository noteRepository;
+    private final SearchService searchService;
+    private final ChangeFeedService changeFeedService;
 
     /**
      * Retrieve a note by ID.
@@ -24,22 +45,79 @@ public class NoteService {
      * @param id the note ID
      * @return the note if found, empty otherwise
      */
+    @Cacheable(cacheNames = CacheConfig.NOTES, key = "#id", unless = "#result == null")
     public Optional<NoteResponse> getNote(Long id) {
         return noteRepository.findById(id)
                 .map(ConversionUtils::convertNoteToResponse);
     }
 
     /**
-     * Retrieve all notes.
+     * Retrieve a summary of a note with a body excerpt instead of the full body.
      *
-     * @return list of all notes
+     * @param id the note ID
+     * @return the note summary if found, empty otherwise
+     */
+    public Optional<NoteSummary> getNoteSummary(Long id) {
+        return noteRepository.findSummaryById(DashboardService.EXCERPT_LENGTH, id)
+                .map(ConversionUtils::convertNoteSummaryToResponse);
+    }
+
+    /**
+     * Retrieve summaries of all notes, most recently updated first.
+     * Bodies are truncated in the database, so large notes are never transferred in full.
+     *
+     * @return list of all note summaries
      */
-    public List<NoteResponse> getAllNotes() {
-        return noteRepository.findAll().stream()
-                .map(ConversionUtils::convertNoteToResponse)
+    public List<NoteSummary> getAllNotes() {
+        return noteRepository.findAllSummaries(DashboardService.EXCERPT_LENGTH).stream()
+                .map(ConversionUtils::convertNoteSummaryToResponse)
                 .toList();
     }
 
+    /**
+     * Pass the summaries of all notes to {@code consumer}, most recently updated first,
+     * as they are read from a database cursor (on MySQL only with useCursorFetch=true on the datasource URL,
+     * otherwise the driver reads all rows up front).
+     *
+     * @param consumer receives each note summary
+     */
+    public void forEachNote(Consumer<NoteSummary> consumer) {
+        try (Stream<NoteSummaryView> notes = noteRepository.streamAllSummaries(DashboardService.EXCERPT_LENGTH)) {
+            notes.map(ConversionUtils::convertNoteSummaryToResponse).forEach(consumer);
+        }
+    }
+
+    /**
+     * Retrieve only the last update time of a note, without loading its body.
+     *
+     * @param id the note ID
+     * @return the last update time if the note exists, empty otherwise
+     */
+    public Optional<LocalDateTime> getNoteLastModified(Long id) {
+        return noteRepository.findUpdatedAtById(id);
+    }
+
+    /**
+     * Retrieve only the version and last update time of a note, without loading its body.
+     *
+     * @param id the note ID
+     * @return the version if the note exists, empty otherwise
+     */
+    public Optional<EntityVersion> getNoteVersion(Long id) {
+        return noteRepository.findVersionById(id)
+                .map(view -> new EntityVersion(view.getVersion(), view.getUpdatedAt()));
+    }
+
+    /**
+     * Retrieve the count and latest update time of all notes.
+     *
+     * @return the collection version
+     */
+    public CollectionVersion getNotesVersion() {
+        CollectionVersionView view = noteRepository.findCollectionVersion();
+        return new CollectionVersion(view.getCount() != null ? view.getCount() : 0, view.getLastUpdatedAt());
+    }
+
     /**
      * Create a new note.
      * Set default title if none provided.
@@ -48,6 +126,7 @@ public class NoteService {
      * @return the created note
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
     public NoteResponse createNote(NoteRequest request) {
         String title = (request.getTitle() == null || request.getTitle().trim().isEmpty())
                 ? "New Note"
@@ -55,6 +134,9 @@ public class NoteService {
 
         Note note = new Note(title, request.getBody());
         Note savedNote = noteRepository.save(note);
+        Long id = savedNote.getId();
+        AfterCommit.run(() -> searchService.indexNote(id, title, request.getBody()));
+        changeFeedService.publish(EntityType.NOTE, id, null, ChangeOperation.CREATED, savedNote::getUpdatedAt);
         return ConversionUtils.convertNoteToResponse(savedNote);
     }
 
@@ -62,34 +144,104 @@ public class NoteService {
      * Update an existing note.
      *
      * @param id the note ID
-     * @param request the updated note data
+     * @param request the updated note data, optionally with the version it is based on
      * @return the updated note if found, empty otherwise
+     * @throws StaleVersionException if the note is no longer at the request's version
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NOTES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
     public Optional<NoteResponse> updateNote(Long id, NoteRequest request) {
         return noteRepository.findById(id)
                 .map(note -> {
+                    StaleVersionException.requireVersion(EntityType.NOTE, id, request.getVersion(), note.getVersion());
                     String title = (request.getTitle() == null || request.getTitle().trim().isEmpty())
                             ? "New Note"
                             : request.getTitle();
                     note.setTitle(title);
                     note.setBody(request.getBody());
-                    return ConversionUtils.convertNoteToResponse(noteRepository.save(note));
+                    AfterCommit.run(() -> searchService.indexNote(id, title, request.getBody()));
+                    // Flushed so the response carries the new version
+                    Note updatedNote = noteRepository.saveAndFlush(note);
+                    changeFeedService.publish(EntityType.NOTE, id, null, ChangeOperation.UPDATED, updatedNote::getUpdatedAt);
+                    return ConversionUtils.convertNoteToResponse(updatedNote);
                 });
     }
 
+    /**
+     * Apply text edits to a note body in the database, without reading or rewriting the whole body.
+     * The patch is rejected if the note is no longer at the client's base version.
+     *
+     * @param id the note ID
+     * @param request the base version and the edits to apply in order
+     * @return the new version and body length if found, empty otherwise
+     * @throws StaleVersionException if the note has changed since the base version
+     * @throws IllegalArgumentException if an edit reaches past the end of the body
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NOTES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public Optional<NotePatchResult> patchNote(Long id, NotePatchRequest request) {
+        Optional<NoteEditStateView> state = noteRepository.findEditStateById(id);
+        if (state.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long baseVersion = request.getBaseVersion();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        if (noteRepository.incrementVersion(id, baseVersion, updatedAt) == 0) {
+            throw new StaleVersionException(EntityType.NOTE, id, state.get().getVersion());
+        }
+
+        int length = state.get().getBodyLength() != null ? state.get().getBodyLength() : 0;
+        // Offsets and lengths count code points, like the database functions of the splice
+        for (NoteTextEdit edit : request.getEdits()) {
+            if (edit == null) {
+                throw new IllegalArgumentException("Edits cannot be null");
+            }
+            int position = edit.getPosition();
+            if (position > length || edit.getDeleteCount() > length - position) {
+                throw new IllegalArgumentException("Edit at " + position + " reaches past the end of the note");
+            }
+            String insert = edit.getInsert() != null ? edit.getInsert() : "";
+            noteRepository.spliceBody(id, position, insert, position + edit.getDeleteCount() + 1);
+            length += insert.codePointCount(0, insert.length()) - edit.getDeleteCount();
+        }
+
+        // The new body is only in the database; it is read once for the index, off the request thread
+        AfterCommit.run(() -> searchService.reindexNoteLater(id));
+        changeFeedService.publish(EntityType.NOTE, id, null, ChangeOperation.UPDATED, () -> updatedAt);
+        return Optional.of(new NotePatchResult(id, baseVersion + 1, length, updatedAt));
+    }
+
     /**
      * Delete a note by ID.
      *
      * @param id the note ID
+     * @param expectedVersion the version the deletion is based on, or null to delete any version
      * @return true if deleted, false if not found
+     * @throws StaleVersionException if the note is no longer at the expected version
      */
     @Transactional
-    public boolean deleteNote(Long id) {
-        if (noteRepository.existsById(id)) {
-            noteRepository.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.NOTES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public boolean deleteNote(Long id, Long expectedVersion) {
+        if (noteRepository.deleteNoteById(id, expectedVersion) > 0) {
+            AfterCommit.run(() -> searchService.removeNote(id));
+            changeFeedService.publish(EntityType.NOTE, id, null, ChangeOperation.DELETED, LocalDateTime::now);
             return true;
         }
+        if (expectedVersion != null) {
+            noteRepository.findVersionById(id).ifPresent(current -> {
+                throw new StaleVersionException(EntityType.NOTE, id, current.getVersion());
+            });
+        }
         return false;
     }
 }
@@ -0,0 +1,419 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.SearchResult;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.repositories.projections.NoteView;
+import com.example.todo.repositories.projections.TodoListSummaryView;
+import com.example.todo.repositories.projections.TodoPreviewView;
+import com.example.todo.util.EntityType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over todo list names, todo descriptions, note titles and note bodies.
+ * Kept in sync by the service write methods after commit and rebuilt from the database at startup.
+ * A query matches documents containing every query term; the last term also matches as a prefix.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final double TERM_SATURATION = 1.2;
+
+    private final TodoListRepository todoListRepository;
+    private final TodoRepository todoRepository;
+    private final NoteRepository noteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Notes waiting to be reloaded by {@link #reindexNoteLater(Long)}. */
+    private final Set<Long> notesToReload = ConcurrentHashMap.newKeySet();
+    /** Notes being read by the reloader, each with a token a direct index update of the note clears. */
+    private final Map<Long, Object> reloadsInProgress = new ConcurrentHashMap<>();
+    private final ExecutorService reloader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** The current index, replaced as a whole by {@link #rebuild()}. Guarded by {@code lock}. */
+    private Index index = new Index();
+    /** Changes made while a rebuild reads the database, replayed onto the new index. Guarded by the write lock. */
+    private List<Consumer<Index>> changesDuringRebuild;
+
+    private record DocumentKey(EntityType type, long id) {
+    }
+
+    private record Document(Long todoListId, String title, Set<String> terms) {
+    }
+
+    /**
+     * Postings, documents and todo IDs by list. Not thread-safe: the live index is only changed
+     * under the write lock, and a rebuild fills a new one that no other thread sees yet.
+     */
+    private static final class Index {
+        private final NavigableMap<String, Map<DocumentKey, Integer>> postings = new TreeMap<>();
+        private final Map<DocumentKey, Document> documents = new HashMap<>();
+        private final Map<Long, Set<Long>> todosByList = new HashMap<>();
+
+        private void put(DocumentKey key, Long todoListId, String title, Map<String, Integer> frequencies) {
+            remove(key);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, frequency));
+            documents.put(key, new Document(todoListId, title, frequencies.keySet()));
+            if (key.type() == EntityType.TODO) {
+                todosByList.computeIfAbsent(todoListId, listId -> new HashSet<>()).add(key.id());
+            }
+        }
+
+        private void removeTodoList(long id) {
+            remove(new DocumentKey(EntityType.TODOLIST, id));
+            Set<Long> todoIds = todosByList.remove(id);
+            if (todoIds != null) {
+                todoIds.forEach(todoId -> remove(new DocumentKey(EntityType.TODO, todoId)));
+            }
+        }
+
+        private void removeTodo(long id) {
+            Document document = remove(new DocumentKey(EntityType.TODO, id));
+            if (document != null) {
+                Set<Long> todoIds = todosByList.get(document.todoListId());
+                if (todoIds != null) {
+                    todoIds.remove(id);
+                }
+            }
+        }
+
+        /**
+         * Remove a document's postings.
+         */
+        private Document remove(DocumentKey key) {
+            Document document = documents.remove(key);
+            if (document != null) {
+                for (String term : document.terms()) {
+                    Map<DocumentKey, Integer> termPostings = postings.get(term);
+                    if (termPostings != null) {
+                        termPostings.remove(key);
+                        if (termPostings.isEmpty()) {
+                            postings.remove(term);
+                        }
+                    }
+                }
+            }
+            return document;
+        }
+    }
+
+    // ===================== INDEXING =====================
+
+    public void indexTodoList(Long id, String name) {
+        Map<String, Integer> frequencies = frequencies(name, null);
+        apply(target -> target.put(new DocumentKey(EntityType.TODOLIST, id), null, name, frequencies));
+    }
+
+    public void indexTodo(Long id, Long todoListId, String description) {
+        Map<String, Integer> frequencies = frequencies(description, null);
+        apply(target -> target.put(new DocumentKey(EntityType.TODO, id), todoListId, description, frequencies));
+    }
+
+    public void indexNote(Long id, String title, String body) {
+        Map<String, Integer> frequencies = frequencies(title, body);
+        applyToNote(id, target -> target.put(new DocumentKey(EntityType.NOTE, id), null, title, frequencies));
+    }
+
+    /**
+     * Re-index a note from the database on a background thread, for changes made without reading its body.
+     * Requests for a note that is still waiting are merged, so a burst of edits reads the body once.
+     */
+    public void reindexNoteLater(Long id) {
+        if (notesToReload.add(id)) {
+            reloader.execute(() -> {
+                // Removed before reading, so a change committed during the read schedules another reload
+                notesToReload.remove(id);
+                try {
+                    reloadNote(id);
+                } catch (RuntimeException e) {
+                    log.warn("Could not re-index note {}", id, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove a todo list and all of its todos from the index.
+     */
+    public void removeTodoList(Long id) {
+        apply(target -> target.removeTodoList(id));
+    }
+
+    public void removeTodo(Long id) {
+        apply(target -> target.removeTodo(id));
+    }
+
+    public void removeNote(Long id) {
+        applyToNote(id, target -> target.remove(new DocumentKey(EntityType.NOTE, id)));
+    }
+
+    /**
+     * Rebuild the whole index from the database once the application has started.
+     * The new index is built without the lock, so searches and updates carry on meanwhile;
+     * updates made during the rebuild are replayed onto it before it replaces the current one.
+     * Reads in a read-write transaction so it goes to the primary: a replica may be empty or lagging,
+     * and the index would then miss committed data until the next restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        boolean built = false;
+        int documentCount = 0;
+        int termCount = 0;
+        try {
+            try (Stream<TodoListSummaryView> lists = todoListRepository.streamAllSummaries()) {
+                lists.forEach(list -> rebuilt.put(new DocumentKey(EntityType.TODOLIST, list.getId()), null,
+                        list.getName(), frequencies(list.getName(), null)));
+            }
+            try (Stream<TodoPreviewView> todos = todoRepository.streamAll()) {
+                todos.forEach(todo -> rebuilt.put(new DocumentKey(EntityType.TODO, todo.getId()), todo.getTodoListId(),
+                        todo.getDescription(), frequencies(todo.getDescription(), null)));
+            }
+            try (Stream<NoteView> notes = noteRepository.streamAll()) {
+                notes.forEach(note -> rebuilt.put(new DocumentKey(EntityType.NOTE, note.getId()), null,
+                        note.getTitle(), frequencies(note.getTitle(), note.getBody())));
+            }
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                    index = rebuilt;
+                    documentCount = rebuilt.documents.size();
+                    termCount = rebuilt.postings.size();
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Built search index with {} documents and {} terms in {} ms",
+                documentCount, termCount, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Read a note and index it, or remove it if it was deleted. The read runs in a read-write transaction,
+     * which goes to the primary: a replica may not have the change yet. It runs without the index lock,
+     * so if the note is indexed directly meanwhile, that newer state is kept and the read is discarded.
+     */
+    private void reloadNote(Long id) {
+        Object reload = new Object();
+        reloadsInProgress.put(id, reload);
+        Optional<NoteView> note = transactionTemplate.execute(status -> noteRepository.findViewById(id));
+        lock.writeLock().lock();
+        try {
+            if (!reloadsInProgress.remove(id, reload)) {
+                return;
+            }
+            if (note != null && note.isPresent()) {
+                indexNote(id, note.get().getTitle(), note.get().getBody());
+            } else {
+                removeNote(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloader.shutdownNow();
+    }
+
+    /**
+     * Apply a change to the current index, and remember it for the new index if a rebuild is running.
+     */
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a change of a note, superseding a reload of the note that is reading the database.
+     */
+    private void applyToNote(Long id, Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            apply(change);
+            reloadsInProgress.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> frequencies(String title, String body) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(body).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+
+    // ===================== QUERYING =====================
+
+    /**
+     * Search all indexed items.
+     *
+     * @param query the search text
+     * @param limit the maximum number of results, clamped to {@link #MAX_LIMIT}
+     * @return matching items, best match first
+     */
+    public List<SearchResult> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            // Each query term resolves to one or more index terms; the last term also matches as a prefix
+            List<List<String>> expansions = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                List<String> expansion = i == terms.size() - 1 ? expandPrefix(terms.get(i)) : List.of(terms.get(i));
+                expansion = expansion.stream().filter(index.postings::containsKey).toList();
+                if (expansion.isEmpty()) {
+                    return List.of();
+                }
+                expansions.add(expansion);
+            }
+
+            // Score candidates from the most selective query term, then require every other term to match
+            expansions.sort(Comparator.comparingInt(this::postingCount));
+            Map<DocumentKey, Double> scores = score(expansions.get(0), null);
+            for (int i = 1; i < expansions.size() && !scores.isEmpty(); i++) {
+                scores = score(expansions.get(i), scores);
+            }
+
+            return topResults(scores, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String> expandPrefix(String prefix) {
+        return index.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .keySet().stream()
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .toList();
+    }
+
+    private int postingCount(List<String> expansion) {
+        return expansion.stream().mapToInt(term -> index.postings.get(term).size()).sum();
+    }
+
+    /**
+     * Score the documents matching any of the given index terms.
+     * If {@code candidates} is given, only those documents are kept and their scores are added up.
+     */
+    private Map<DocumentKey, Double> score(List<String> expansion, Map<DocumentKey, Double> candidates) {
+        Map<DocumentKey, Double> scores = new HashMap<>();
+        int documentCount = index.documents.size();
+        for (String term : expansion) {
+            Map<DocumentKey, Integer> termPostings = index.postings.get(term);
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            if (candidates == null) {
+                termPostings.forEach((key, frequency) -> scores.merge(key, termScore(frequency, idf), Double::sum));
+            } else {
+                candidates.forEach((key, score) -> {
+                    Integer frequency = termPostings.get(key);
+                    if (frequency != null) {
+                        scores.merge(key, score + termScore(frequency, idf), Math::max);
+                    }
+                });
+            }
+        }
+        return scores;
+    }
+
+    private static double termScore(int frequency, double idf) {
+        return idf * frequency / (frequency + TERM_SATURATION);
+    }
+
+    private List<SearchResult> topResults(Map<DocumentKey, Double> scores, int maxResults) {
+        PriorityQueue<Map.Entry<DocumentKey, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<DocumentKey, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > maxResults) {
+                top.poll();
+            }
+        }
+
+        List<SearchResult> results = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<DocumentKey, Double> entry = top.poll();
+            Document document = index.documents.get(entry.getKey());
+            results.add(0, new SearchResult(entry.getKey().type(), entry.getKey().id(),
+                    document.todoListId(), document.title(), entry.getValue()));
+        }
+        return results;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Stream.of(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
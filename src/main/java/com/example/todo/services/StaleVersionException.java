@@ -0,0 +1,34 @@
+package com.example.todo.services;
+
+import com.example.todo.util.EntityType;
+import lombok.Getter;
+
+/**
+ * Thrown when an update or delete expects a version of the entity that is no longer current.
+ */
+@Getter
+public class StaleVersionException extends RuntimeException {
+
+    private final EntityType entityType;
+    private final Long id;
+    private final long currentVersion;
+
+    public StaleVersionException(EntityType entityType, Long id, long currentVersion) {
+        super(entityType + " " + id + " is at version " + currentVersion);
+        this.entityType = entityType;
+        this.id = id;
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * Reject a change that expects another version than the current one.
+     *
+     * @param expectedVersion the version the change is based on, or null to accept any version
+     * @throws StaleVersionException if the versions differ
+     */
+    static void requireVersion(EntityType entityType, Long id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new StaleVersionException(entityType, id, currentVersion);
+        }
+    }
+}
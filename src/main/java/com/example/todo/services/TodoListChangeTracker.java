@@ -0,0 +1,89 @@
+package com.example.todo.services;
+
+import com.example.todo.repositories.TodoListRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the changes made to the todos of each list during a transaction and writes them to the
+ * list row with a single update per list just before commit.
+ * Keeps the update time and counters of a list in step with its todos without loading the list,
+ * however many of its todos the transaction touches.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoListChangeTracker {
+
+    private final TodoListRepository todoListRepository;
+
+    /**
+     * Pending list changes of one transaction, bound as a transaction resource under the tracker.
+     */
+    private static final class PendingChanges {
+        private final LocalDateTime updatedAt = LocalDateTime.now();
+        private final Map<Long, int[]> countDeltas = new LinkedHashMap<>();
+    }
+
+    /**
+     * Record that a todo of the list changed without changing the list's counters.
+     *
+     * @param listId the todo list ID
+     * @return the update time the list will have once the transaction commits
+     */
+    public LocalDateTime touch(Long listId) {
+        return record(listId, 0, 0);
+    }
+
+    /**
+     * Record that todos were added to or removed from the list, or changed completion status.
+     *
+     * @param listId the todo list ID
+     * @param totalDelta change in the number of todos
+     * @param completedDelta change in the number of completed todos
+     * @return the update time the list will have once the transaction commits
+     */
+    public LocalDateTime record(Long listId, int totalDelta, int completedDelta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            LocalDateTime now = LocalDateTime.now();
+            todoListRepository.applyTodoChanges(listId, totalDelta, completedDelta, now);
+            return now;
+        }
+
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new Flush(pending));
+        }
+        int[] delta = pending.countDeltas.computeIfAbsent(listId, id -> new int[2]);
+        delta[0] += totalDelta;
+        delta[1] += completedDelta;
+        return pending.updatedAt;
+    }
+
+    private final class Flush implements TransactionSynchronization {
+
+        private final PendingChanges pending;
+
+        private Flush(PendingChanges pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            pending.countDeltas.forEach((listId, delta) ->
+                    todoListRepository.applyTodoChanges(listId, delta[0], delta[1], pending.updatedAt));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TodoListChangeTracker.this);
+        }
+    }
+}
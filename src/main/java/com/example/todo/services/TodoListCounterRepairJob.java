@@ -0,0 +1,52 @@
+package com.example.todo.services;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.repositories.TodoListRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the denormalized todo counters on todo lists from the todos table.
+ * Runs once at startup and then on a schedule to repair any drift.
+ */
+@Slf4j
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class TodoListCounterRepairJob {
+
+    private final TodoListRepository todoListRepository;
+
+    /**
+     * Repair counters once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        repairCounters();
+    }
+
+    /**
+     * Recompute the counters of all lists whose counters no longer match their todos.
+     *
+     * @return number of repaired lists
+     */
+    @Scheduled(cron = "${todo.counters.repair-cron:0 0 3 * * *}")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public int repairCounters() {
+        int repaired = todoListRepository.recomputeTodoCounts();
+        if (repaired > 0) {
+            log.warn("Repaired todo counters of {} todo list(s)", repaired);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todo.services;
+
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Deletes soft-deleted todo lists and their todos in the background.
+ * Each list is purged in its own transaction, so locks are held for one list at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoListPurgeJob {
+
+    /** Number of lists purged per run. */
+    static final int PURGE_BATCH_SIZE = 100;
+
+    private final TodoListRepository todoListRepository;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Purge soft-deleted lists, oldest deletion first.
+     *
+     * @return number of purged lists
+     */
+    @Scheduled(fixedDelayString = "${todo.lists.purge-interval:60000}")
+    public int purgeDeletedLists() {
+        List<Long> ids = todoListRepository.findSoftDeletedIds(PageRequest.of(0, PURGE_BATCH_SIZE));
+        int purged = 0;
+        for (Long id : ids) {
+            Integer todos = transactionTemplate.execute(status -> {
+                int deletedTodos = todoRepository.deleteByTodoListId(id);
+                return todoListRepository.purgeSoftDeleted(id) > 0 ? deletedTodos : null;
+            });
+            if (todos != null) {
+                purged++;
+                log.debug("Purged todo list {} with {} todo(s)", id, todos);
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} deleted todo list(s)", purged);
+        }
+        return purged;
+    }
+}
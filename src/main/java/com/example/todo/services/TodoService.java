@@ -1,19 +1,47 @@
 package com.example.todo.services;
 
+import com.example.todo.config.CacheConfig;
+import com.example.todo.dto.CollectionVersion;
+import com.example.todo.dto.EntityVersion;
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
 import com.example.todo.dto.TodoListRequest;
 import com.example.todo.dto.TodoListResponse;
+import com.example.todo.dto.TodoListSummary;
 import com.example.todo.dto.TodoRequest;
 import com.example.todo.dto.TodoResponse;
 import com.example.todo.entities.Todo;
 import com.example.todo.entities.TodoList;
 import com.example.todo.repositories.TodoListRepository;
 import com.example.todo.repositories.TodoRepository;
+import com.example.todo.repositories.projections.CollectionVersionView;
+import com.example.todo.repositories.projections.TodoListTodoRowView;
+import com.example.todo.util.AfterCommit;
+import com.example.todo.util.ChangeOperation;
+import com.example.todo.util.EntityType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +50,12 @@ public class TodoService {
 
     private final TodoRepository todoRepository;
     private final TodoListRepository todoListRepository;
+    private final SearchService searchService;
+    private final ChangeFeedService changeFeedService;
+    private final TodoListChangeTracker todoListChangeTracker;
+
+    @Value("${todo.lists.soft-delete:false}")
+    private boolean softDelete;
 
     /**
      * Retrieve a todo list by ID.
@@ -29,22 +63,93 @@ public class TodoService {
      * @param id the todo list ID
      * @return the todo list if found, empty otherwise
      */
+    @Cacheable(cacheNames = CacheConfig.TODO_LISTS, key = "#id", unless = "#result == null")
     public Optional<TodoListResponse> getTodoList(Long id) {
         return todoListRepository.findById(id)
                 .map(ConversionUtils::convertListToResponse);
     }
 
+    /**
+     * Retrieve a todo list with its todo counts but without its todos.
+     *
+     * @param id the todo list ID
+     * @return the todo list if found, empty otherwise
+     */
+    public Optional<TodoListSummary> getTodoListSummary(Long id) {
+        return todoListRepository.findSummaryById(id)
+                .map(view -> ConversionUtils.convertListSummaryToResponse(view, List.of()));
+    }
+
     /**
      * Retrieve all todo lists.
      *
      * @return list of all todo lists
      */
     public List<TodoListResponse> getAllTodoLists() {
-        return todoListRepository.findAll().stream()
+        return todoListRepository.findAllWithTodos().stream()
                 .map(ConversionUtils::convertListToResponse)
                 .toList();
     }
 
+    /**
+     * Pass all todo lists with their todos to {@code consumer}, in ID order, as they are read from a single
+     * database cursor. Only the list being read is held in memory, whatever the number of lists;
+     * on MySQL this needs useCursorFetch=true on the datasource URL.
+     *
+     * @param consumer receives each todo list once all of its todos have been read
+     */
+    public void forEachTodoList(Consumer<TodoListResponse> consumer) {
+        try (Stream<TodoListTodoRowView> rows = todoListRepository.streamAllWithTodos()) {
+            TodoListResponse current = null;
+            for (Iterator<TodoListTodoRowView> iterator = rows.iterator(); iterator.hasNext(); ) {
+                TodoListTodoRowView row = iterator.next();
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = ConversionUtils.convertListRowToResponse(row);
+                }
+                if (row.getTodoId() != null) {
+                    current.getTodos().add(ConversionUtils.convertTodoRowToResponse(row));
+                }
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+    /**
+     * Retrieve only the last update time of a todo list, without loading it.
+     *
+     * @param id the todo list ID
+     * @return the last update time if the list exists, empty otherwise
+     */
+    public Optional<LocalDateTime> getTodoListLastModified(Long id) {
+        return todoListRepository.findUpdatedAtById(id);
+    }
+
+    /**
+     * Retrieve only the version and last update time of a todo list, without loading it.
+     *
+     * @param id the todo list ID
+     * @return the version if the list exists, empty otherwise
+     */
+    public Optional<EntityVersion> getTodoListVersion(Long id) {
+        return todoListRepository.findVersionById(id)
+                .map(view -> new EntityVersion(view.getVersion(), view.getUpdatedAt()));
+    }
+
+    /**
+     * Retrieve the count and latest update time of all todo lists.
+     *
+     * @return the collection version
+     */
+    public CollectionVersion getTodoListsVersion() {
+        CollectionVersionView view = todoListRepository.findCollectionVersion();
+        return new CollectionVersion(view.getCount() != null ? view.getCount() : 0, view.getLastUpdatedAt());
+    }
+
     /**
      * Create a new todo list.
      *
@@ -52,9 +157,14 @@ public class TodoService {
      * @return the created todo list
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
     public TodoListResponse createTodoList(TodoListRequest request) {
         TodoList todoList = new TodoList(request.getName());
         TodoList savedTodoList = todoListRepository.save(todoList);
+        Long id = savedTodoList.getId();
+        String name = savedTodoList.getName();
+        AfterCommit.run(() -> searchService.indexTodoList(id, name));
+        changeFeedService.publish(EntityType.TODOLIST, id, null, ChangeOperation.CREATED, savedTodoList::getUpdatedAt);
         return ConversionUtils.convertListToResponse(savedTodoList);
     }
 
@@ -62,46 +172,85 @@ public class TodoService {
      * Rename a todo list.
      *
      * @param id the todo list ID
-     * @param request the updated todo list data
+     * @param request the updated todo list data, optionally with the version it is based on
      * @return the updated todo list if found, empty otherwise
+     * @throws StaleVersionException if the list is no longer at the request's version
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
     public Optional<TodoListResponse> updateTodoList(Long id, TodoListRequest request) {
         return todoListRepository.findById(id)
                 .map(todoList -> {
+                    StaleVersionException.requireVersion(EntityType.TODOLIST, id, request.getVersion(),
+                            todoList.getVersion());
                     todoList.setName(request.getName());
-                    TodoList updatedTodoList = todoListRepository.save(todoList);
+                    // Flushed so the response carries the new version
+                    TodoList updatedTodoList = todoListRepository.saveAndFlush(todoList);
+                    AfterCommit.run(() -> searchService.indexTodoList(id, request.getName()));
+                    changeFeedService.publish(EntityType.TODOLIST, id, null, ChangeOperation.UPDATED,
+                            updatedTodoList::getUpdatedAt);
                     return ConversionUtils.convertListToResponse(updatedTodoList);
                 });
     }
 
     /**
      * Delete a todo list and all its todos.
+     * Either deletes the todos and the list with one statement each, or, with soft delete enabled,
+     * only marks the list deleted and leaves the rows to {@link TodoListPurgeJob}.
+     * Neither loads the list or its todos.
      *
      * @param id the todo list ID
+     * @param expectedVersion the version the deletion is based on, or null to delete any version
      * @return true if deleted, false if not found
+     * @throws StaleVersionException if the list is no longer at the expected version
      */
     @Transactional
-    public boolean deleteTodoList(Long id) {
-        Optional<TodoList> todoList = todoListRepository.findById(id);
-        if (todoList.isPresent()) {
-            todoListRepository.delete(todoList.get());
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public boolean deleteTodoList(Long id, Long expectedVersion) {
+        if (expectedVersion != null) {
+            Optional<EntityVersion> current = getTodoListVersion(id);
+            if (current.isEmpty()) {
+                return false;
+            }
+            StaleVersionException.requireVersion(EntityType.TODOLIST, id, expectedVersion, current.get().getVersion());
+        }
+
+        boolean deleted;
+        if (softDelete) {
+            deleted = todoListRepository.softDelete(id, expectedVersion, LocalDateTime.now()) > 0;
+        } else {
+            todoRepository.deleteByTodoListId(id);
+            deleted = todoListRepository.deleteTodoListById(id, expectedVersion) > 0;
+        }
+        if (!deleted && expectedVersion != null) {
+            // Renamed or deleted since the version check; rolls back the todo deletion
+            throw new ObjectOptimisticLockingFailureException(TodoList.class, id);
+        }
+        if (deleted) {
+            AfterCommit.run(() -> searchService.removeTodoList(id));
+            changeFeedService.publish(EntityType.TODOLIST, id, null, ChangeOperation.DELETED, LocalDateTime::now);
             return true;
         }
         return false;
     }
 
     /**
-     * Retrieve all todos in a list, sorted by completion status.
+     * Retrieve all todos in a list, sorted by completion status and position.
      *
      * @param listId the todo list ID
      * @return list of todos with incomplete items first
      */
     public List<TodoResponse> getTodos(Long listId) {
-        List<Todo> todos = todoRepository.findByTodoListId(listId);
+        List<Todo> todos = todoRepository.findByTodoListIdOrderByCompletedAscPositionAscIdAsc(listId);
         return todos.stream()
                 .map(ConversionUtils::convertTodoToResponse)
-                .sorted((t1, t2) -> Boolean.compare(t1.isCompleted(), t2.isCompleted()))
                 .toList();
     }
 
@@ -110,10 +259,10 @@ public class TodoService {
      *
      * @param listId the todo list ID
      * @param completed the completion status filter
-     * @return list of todos matching the completion status
+     * @return list of todos matching the completion status, sorted by position
      */
     public List<TodoResponse> getTodos(Long listId, Boolean completed) {
-        List<Todo> todos = todoRepository.findByTodoListIdAndCompleted(listId, completed);
+        List<Todo> todos = todoRepository.findByTodoListIdAndCompletedOrderByPositionAscIdAsc(listId, completed);
         return todos.stream()
                 .map(ConversionUtils::convertTodoToResponse)
                 .toList();
@@ -126,6 +275,7 @@ public class TodoService {
      * @param todoId the todo ID
      * @return the todo if found, empty otherwise
      */
+    @Cacheable(cacheNames = CacheConfig.TODOS, key = "#listId + ':' + #todoId", unless = "#result == null")
     public Optional<TodoResponse> getTodo(Long listId, Long todoId) {
         return todoRepository.findByIdAndTodoListId(todoId, listId)
                 .map(ConversionUtils::convertTodoToResponse);
@@ -139,11 +289,20 @@ public class TodoService {
      * @return the created todo if parent list exists, empty otherwise
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
     public Optional<TodoResponse> createTodo(Long listId, TodoRequest request) {
         return todoListRepository.findById(listId)
                 .map(todoList -> {
                     Todo todo = new Todo(request.getDescription(), todoList);
+                    todo.setPosition(nextPosition(listId));
                     Todo savedTodo = todoRepository.save(todo);
+                    LocalDateTime updatedAt = todoListChangeTracker.record(listId, 1, 0);
+                    Long todoId = savedTodo.getId();
+                    AfterCommit.run(() -> searchService.indexTodo(todoId, listId, request.getDescription()));
+                    publishTodoChange(listId, todoId, ChangeOperation.CREATED, updatedAt);
                     return ConversionUtils.convertTodoToResponse(savedTodo);
                 });
     }
@@ -153,16 +312,26 @@ public class TodoService {
      *
      * @param listId the todo list ID
      * @param todoId the todo ID
-     * @param request the updated todo data
+     * @param request the updated todo data, optionally with the version it is based on
      * @return the updated todo if found, empty otherwise
+     * @throws StaleVersionException if the todo is no longer at the request's version
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#listId + ':' + #todoId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
     public Optional<TodoResponse> updateTodo(Long listId, Long todoId, TodoRequest request) {
         return todoRepository.findByIdAndTodoListId(todoId, listId)
                 .map(todo -> {
+                    StaleVersionException.requireVersion(EntityType.TODO, todoId, request.getVersion(), todo.getVersion());
                     todo.setDescription(request.getDescription());
-                    todo.getTodoList().setUpdatedAt(java.time.LocalDateTime.now());
-                    Todo updatedTodo = todoRepository.save(todo);
+                    // Flushed so the response carries the new version
+                    Todo updatedTodo = todoRepository.saveAndFlush(todo);
+                    LocalDateTime updatedAt = todoListChangeTracker.touch(listId);
+                    AfterCommit.run(() -> searchService.indexTodo(todoId, listId, request.getDescription()));
+                    publishTodoChange(listId, todoId, ChangeOperation.UPDATED, updatedAt);
                     return ConversionUtils.convertTodoToResponse(updatedTodo);
                 });
     }
@@ -172,13 +341,24 @@ public class TodoService {
      *
      * @param listId the todo list ID
      * @param todoId the todo ID
+     * @param expectedVersion the version the deletion is based on, or null to delete any version
      * @return true if deleted, false if not found
+     * @throws StaleVersionException if the todo is no longer at the expected version
      */
     @Transactional
-    public boolean deleteTodo(Long listId, Long todoId) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#listId + ':' + #todoId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public boolean deleteTodo(Long listId, Long todoId, Long expectedVersion) {
         Optional<Todo> todo = todoRepository.findByIdAndTodoListId(todoId, listId);
         if (todo.isPresent()) {
-            todoRepository.deleteById(todoId);
+            StaleVersionException.requireVersion(EntityType.TODO, todoId, expectedVersion, todo.get().getVersion());
+            todoRepository.delete(todo.get());
+            LocalDateTime updatedAt = todoListChangeTracker.record(listId, -1, todo.get().getCompleted() ? -1 : 0);
+            AfterCommit.run(() -> searchService.removeTodo(todoId));
+            publishTodoChange(listId, todoId, ChangeOperation.DELETED, updatedAt);
             return true;
         }
         return false;
@@ -192,6 +372,11 @@ public class TodoService {
      * @return the updated todo if found, empty otherwise
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#listId + ':' + #todoId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
     public Optional<TodoResponse> markTodoAsComplete(Long listId, Long todoId) {
         return setTodoCompletionStatus(listId, todoId, true);
     }
@@ -204,12 +389,216 @@ public class TodoService {
      * @return the updated todo if found, empty otherwise
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#listId + ':' + #todoId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
     public Optional<TodoResponse> markTodoAsIncomplete(Long listId, Long todoId) {
         return setTodoCompletionStatus(listId, todoId, false);
     }
 
     /**
-     * Update todo completion status and parent list timestamp.
+     * Move a todo to a new place in its list.
+     * Only the moved todo is written, unless there is no gap left between its new neighbours;
+     * then the positions of the whole list are spread out again first.
+     *
+     * @param listId the todo list ID
+     * @param todoId the todo ID
+     * @param afterTodoId the todo to place it after, or null to place it first
+     * @return the moved todo if found, empty otherwise
+     * @throws IllegalArgumentException if {@code afterTodoId} is the todo itself or not in the list
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public Optional<TodoResponse> moveTodo(Long listId, Long todoId, Long afterTodoId) {
+        return todoRepository.findByIdAndTodoListId(todoId, listId)
+                .map(todo -> {
+                    Todo after = null;
+                    if (afterTodoId != null) {
+                        if (afterTodoId.equals(todoId)) {
+                            throw new IllegalArgumentException("A todo cannot be moved after itself");
+                        }
+                        after = todoRepository.findByIdAndTodoListId(afterTodoId, listId)
+                                .orElseThrow(() -> new IllegalArgumentException("Todo " + afterTodoId + " is not in this list"));
+                    }
+
+                    Long position = positionAfter(listId, todo, after);
+                    if (position == null) {
+                        renumberPositions(listId);
+                        position = positionAfter(listId, todo, after);
+                    }
+                    todo.setPosition(position);
+                    LocalDateTime updatedAt = todoListChangeTracker.touch(listId);
+                    publishTodoChange(listId, todoId, ChangeOperation.UPDATED, updatedAt);
+                    return ConversionUtils.convertTodoToResponse(todo);
+                });
+    }
+
+    /**
+     * Flip the completion status of a todo.
+     * Updates the todo and its parent list's counter and timestamp with bulk statements,
+     * without loading either entity.
+     *
+     * @param listId the todo list ID
+     * @param todoId the todo ID
+     * @return the updated todo if found, empty otherwise
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#listId + ':' + #todoId"),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public Optional<TodoResponse> toggleTodo(Long listId, Long todoId) {
+        if (todoRepository.toggleCompleted(todoId, listId) == 0) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        todoListRepository.applyTodoToggle(listId, todoId, now);
+        publishTodoChange(listId, todoId, ChangeOperation.UPDATED, now);
+        return todoRepository.findPreviewById(todoId)
+                .map(ConversionUtils::convertTodoPreviewToResponse);
+    }
+
+    /**
+     * Apply a batch of todo operations to a list in a single transaction.
+     * Operations are applied in order; an operation that fails validation or references
+     * a missing todo is reported in its result and does not abort the others.
+     * Inserts, updates and deletes are flushed together using JDBC batching.
+     *
+     * @param listId the todo list ID
+     * @param operations the operations to apply
+     * @return one result per operation if the list exists, empty otherwise
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODO_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TODOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DASHBOARD, allEntries = true)
+    })
+    public Optional<List<TodoBatchResult>> applyTodoBatch(Long listId, List<TodoBatchOperation> operations) {
+        return todoListRepository.findById(listId)
+                .map(todoList -> {
+                    Set<Long> todoIds = operations.stream()
+                            .map(TodoBatchOperation::getTodoId)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet());
+                    Map<Long, Todo> todos = todoIds.isEmpty()
+                            ? new HashMap<>()
+                            : todoRepository.findByTodoListIdAndIdIn(listId, todoIds).stream()
+                                    .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+                    List<TodoBatchResult> results = new ArrayList<>(operations.size());
+                    Todo[] subjects = new Todo[operations.size()];
+                    List<Todo> created = new ArrayList<>();
+                    List<Todo> deleted = new ArrayList<>();
+                    int totalDelta = 0;
+                    int completedDelta = 0;
+                    Long position = null;
+
+                    for (int i = 0; i < operations.size(); i++) {
+                        TodoBatchOperation operation = operations.get(i);
+                        TodoBatchResult result = new TodoBatchResult();
+                        result.setIndex(i);
+                        result.setType(operation.getType());
+                        result.setStatus(TodoBatchResult.Status.OK);
+                        results.add(result);
+
+                        boolean needsDescription = operation.getType() == TodoBatchOperation.Type.CREATE
+                                || operation.getType() == TodoBatchOperation.Type.UPDATE;
+                        if (needsDescription && (operation.getDescription() == null || operation.getDescription().isBlank())) {
+                            result.setStatus(TodoBatchResult.Status.INVALID);
+                            result.setError("Description is required");
+                            continue;
+                        }
+
+                        if (operation.getType() == TodoBatchOperation.Type.CREATE) {
+                            Todo todo = new Todo(operation.getDescription(), todoList);
+                            position = position == null ? nextPosition(listId) : position + Todo.POSITION_GAP;
+                            todo.setPosition(position);
+                            created.add(todo);
+                            subjects[i] = todo;
+                            totalDelta++;
+                            continue;
+                        }
+
+                        Todo todo = operation.getTodoId() != null ? todos.get(operation.getTodoId()) : null;
+                        if (todo == null) {
+                            result.setStatus(TodoBatchResult.Status.NOT_FOUND);
+                            result.setError("Todo not found");
+                            continue;
+                        }
+
+                        switch (operation.getType()) {
+                            case UPDATE -> todo.setDescription(operation.getDescription());
+                            case COMPLETE, INCOMPLETE -> {
+                                boolean completed = operation.getType() == TodoBatchOperation.Type.COMPLETE;
+                                if (todo.getCompleted() != completed) {
+                                    completedDelta += completed ? 1 : -1;
+                                    todo.setCompleted(completed);
+                                }
+                            }
+                            case DELETE -> {
+                                todos.remove(todo.getId());
+                                deleted.add(todo);
+                                totalDelta--;
+                                completedDelta -= todo.getCompleted() ? 1 : 0;
+                            }
+                            default -> throw new IllegalStateException("Unhandled operation " + operation.getType());
+                        }
+                        if (operation.getType() != TodoBatchOperation.Type.DELETE) {
+                            subjects[i] = todo;
+                        }
+                    }
+
+                    todoRepository.saveAll(created);
+                    todoRepository.deleteAll(deleted);
+                    todoRepository.flush();
+                    boolean changed = results.stream().anyMatch(result -> result.getStatus() == TodoBatchResult.Status.OK);
+                    LocalDateTime updatedAt = changed
+                            ? todoListChangeTracker.record(listId, totalDelta, completedDelta)
+                            : todoList.getUpdatedAt();
+
+                    Map<Long, String> indexed = new HashMap<>();
+                    for (int i = 0; i < subjects.length; i++) {
+                        if (subjects[i] != null) {
+                            results.get(i).setTodo(ConversionUtils.convertTodoToResponse(subjects[i]));
+                            indexed.put(subjects[i].getId(), subjects[i].getDescription());
+                        }
+                    }
+                    List<Long> removed = deleted.stream().map(Todo::getId).toList();
+                    AfterCommit.run(() -> {
+                        indexed.forEach((todoId, description) -> searchService.indexTodo(todoId, listId, description));
+                        removed.forEach(searchService::removeTodo);
+                    });
+                    for (TodoBatchResult result : results) {
+                        if (result.getStatus() != TodoBatchResult.Status.OK) {
+                            continue;
+                        }
+                        Long todoId = result.getTodo() != null
+                                ? result.getTodo().getId()
+                                : operations.get(result.getIndex()).getTodoId();
+                        ChangeOperation operation = switch (result.getType()) {
+                            case CREATE -> ChangeOperation.CREATED;
+                            case DELETE -> ChangeOperation.DELETED;
+                            default -> ChangeOperation.UPDATED;
+                        };
+                        changeFeedService.publish(EntityType.TODO, todoId, listId, operation, () -> updatedAt);
+                    }
+                    if (changed) {
+                        changeFeedService.publish(EntityType.TODOLIST, listId, null, ChangeOperation.UPDATED,
+                                () -> updatedAt);
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Update todo completion status, parent list timestamp and completed counter.
      *
      * @param listId the todo list ID
      * @param todoId the todo ID
@@ -219,10 +608,59 @@ public class TodoService {
     private Optional<TodoResponse> setTodoCompletionStatus(Long listId, Long todoId, boolean completed) {
         return todoRepository.findByIdAndTodoListId(todoId, listId)
                 .map(todo -> {
+                    int completedDelta = todo.getCompleted() != completed ? (completed ? 1 : -1) : 0;
                     todo.setCompleted(completed);
-                    todo.getTodoList().setUpdatedAt(java.time.LocalDateTime.now());
-                    Todo updatedTodo = todoRepository.save(todo);
+                    Todo updatedTodo = todoRepository.saveAndFlush(todo);
+                    LocalDateTime updatedAt = todoListChangeTracker.record(listId, 0, completedDelta);
+                    publishTodoChange(listId, todoId, ChangeOperation.UPDATED, updatedAt);
                     return ConversionUtils.convertTodoToResponse(updatedTodo);
                 });
     }
+
+    /**
+     * Position for a todo appended to the end of a list.
+     */
+    private long nextPosition(Long listId) {
+        return todoRepository.findLastPosition(listId).orElse(0L) + Todo.POSITION_GAP;
+    }
+
+    /**
+     * Free position directly after {@code after}, or before the first todo if it is null.
+     *
+     * @return the position, or null if {@code after} and the todo following it have no gap between them
+     */
+    private Long positionAfter(Long listId, Todo todo, Todo after) {
+        if (after == null) {
+            return todoRepository.findFirstPosition(listId, todo.getId())
+                    .map(first -> first - Todo.POSITION_GAP)
+                    .orElse(todo.getPosition());
+        }
+        List<Long> next = todoRepository.findPositionsAfter(
+                listId, after.getPosition(), after.getId(), todo.getId(), PageRequest.of(0, 1));
+        if (next.isEmpty()) {
+            return after.getPosition() + Todo.POSITION_GAP;
+        }
+        long gap = next.get(0) - after.getPosition();
+        return gap > 1 ? after.getPosition() + gap / 2 : null;
+    }
+
+    /**
+     * Spread the positions of all todos in a list {@code POSITION_GAP} apart, keeping their order.
+     * Updates already loaded todos in place, so callers can keep using them.
+     */
+    private void renumberPositions(Long listId) {
+        List<Todo> todos = todoRepository.findByTodoListIdOrderByPositionAscIdAsc(listId);
+        for (int i = 0; i < todos.size(); i++) {
+            todos.get(i).setPosition((i + 1) * Todo.POSITION_GAP);
+        }
+    }
+
+    /**
+     * Publish a todo change and the resulting update of its parent list.
+     * Todos have no timestamp of their own, so both events carry the list's update time.
+     */
+    private void publishTodoChange(Long listId, Long todoId, ChangeOperation operation, LocalDateTime updatedAt) {
+        changeFeedService.publish(EntityType.TODO, todoId, listId, operation, () -> updatedAt);
+        changeFeedService.publish(EntityType.TODOLIST, listId, null, ChangeOperation.UPDATED, () -> updatedAt);
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.todo.util;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
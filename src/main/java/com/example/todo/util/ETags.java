@@ -0,0 +1,105 @@
+package com.example.todo.util;
+
+import com.example.todo.dto.CollectionVersion;
+import com.example.todo.dto.EntityVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Builds HTTP validators (ETag and Last-Modified values) from audit timestamps and entity versions.
+ * ETags are returned unquoted; Spring adds the quotes when writing the header.
+ */
+public final class ETags {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Expected version that no entity has, for an If-Match header without a tag of the entity.
+     */
+    public static final long UNMATCHED_VERSION = -1;
+
+    private ETags() {
+    }
+
+    /**
+     * ETag of a single entity, changing whenever its update time changes.
+     */
+    public static String of(EntityType type, Long id, LocalDateTime updatedAt) {
+        return type.name().toLowerCase() + "-" + id + "-" + ChronoUnit.MICROS.between(EPOCH, updatedAt);
+    }
+
+    /**
+     * ETag of a single entity rendered in a specific variant, e.g. a filtered page.
+     */
+    public static String of(EntityType type, Long id, LocalDateTime updatedAt, String variant) {
+        return of(type, id, updatedAt) + "-" + variant;
+    }
+
+    /**
+     * ETag of a single entity that can be sent back in If-Match, carrying the entity version.
+     * The update time, if known, is appended so the tag also changes when only related data changed.
+     */
+    public static String of(EntityType type, Long id, EntityVersion version) {
+        String tag = type.name().toLowerCase() + "-" + id + "-v" + version.getVersion();
+        return version.getUpdatedAt() != null
+                ? tag + "-" + ChronoUnit.MICROS.between(EPOCH, version.getUpdatedAt())
+                : tag;
+    }
+
+    /**
+     * Version an update or delete expects the entity to be at, from an If-Match header.
+     * Only the version is compared, so changes that leave the version alone do not fail the precondition.
+     *
+     * @param type the entity type
+     * @param id the entity ID
+     * @param ifMatch the If-Match header value, may be null
+     * @return null without a header or for {@code *}, the version of the first tag of this entity,
+     *         or {@link #UNMATCHED_VERSION} if no tag belongs to this entity
+     */
+    public static Long expectedVersion(EntityType type, Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = type.name().toLowerCase() + "-" + id + "-v";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            // Weak tags never match in If-Match, which uses strong comparison
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (!value.startsWith(prefix)) {
+                continue;
+            }
+            String version = value.substring(prefix.length());
+            int end = version.indexOf('-');
+            try {
+                return Long.parseLong(end >= 0 ? version.substring(0, end) : version);
+            } catch (NumberFormatException e) {
+                return UNMATCHED_VERSION;
+            }
+        }
+        return UNMATCHED_VERSION;
+    }
+
+    /**
+     * ETag of a collection, changing whenever an item is added, removed or updated.
+     */
+    public static String of(EntityType type, CollectionVersion version) {
+        long lastUpdated = version.getLastUpdatedAt() != null
+                ? ChronoUnit.MICROS.between(EPOCH, version.getLastUpdatedAt())
+                : 0;
+        return type.name().toLowerCase() + "s-" + version.getCount() + "-" + lastUpdated;
+    }
+
+    /**
+     * Last-Modified value in epoch milliseconds, or -1 if unknown.
+     */
+    public static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null
+                ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.todo.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Response bodies that write a JSON array element by element while the elements are being read,
+ * so neither the time to the first byte nor memory use depends on the number of elements.
+ */
+public final class JsonArrayStreams {
+
+    /** Number of elements written between flushes to the client. */
+    static final int FLUSH_INTERVAL = 100;
+
+    private JsonArrayStreams() {
+    }
+
+    /**
+     * Stream every element that {@code producer} passes to its consumer as one JSON array.
+     * The elements are serialized exactly as in a {@code List<T>} response.
+     * If the producer fails, the array is left unterminated, so clients cannot mistake it for a complete result.
+     *
+     * @param objectMapper the mapper configuring the serialization
+     * @param type         the element type
+     * @param producer     passes each element to the given consumer, in response order
+     * @return the streaming response body
+     */
+    public static <T> StreamingResponseBody of(ObjectMapper objectMapper, Class<T> type,
+                                               Consumer<Consumer<T>> producer) {
+        // Each element would otherwise flush on its own
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartArray();
+                int[] unflushed = {0};
+                producer.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                        if (++unflushed[0] == FLUSH_INTERVAL) {
+                            generator.flush();
+                            unflushed[0] = 0;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
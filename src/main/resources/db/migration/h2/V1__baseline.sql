@@ -0,0 +1,25 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and only receive later migrations.
+
+CREATE TABLE todo_lists (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(200) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE todos (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description  VARCHAR(200) NOT NULL,
+    completed    BOOLEAN NOT NULL,
+    todo_list_id BIGINT NOT NULL,
+    CONSTRAINT fk_todos_todo_list FOREIGN KEY (todo_list_id) REFERENCES todo_lists (id)
+);
+
+CREATE TABLE notes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title      VARCHAR(200),
+    body       MEDIUMTEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,25 @@
+-- Columns the entities gained before the schema was managed by migrations, with their values
+-- computed for existing rows
+
+-- Denormalized todo counts of each list
+ALTER TABLE todo_lists ADD COLUMN total_todos INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE todo_lists ADD COLUMN completed_todos INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE todo_lists l SET
+    total_todos = (SELECT COUNT(*) FROM todos t WHERE t.todo_list_id = l.id),
+    completed_todos = (SELECT COUNT(*) FROM todos t WHERE t.todo_list_id = l.id AND t.completed = TRUE);
+
+-- User-defined order, 65536 apart; existing todos keep their creation order
+ALTER TABLE todos ADD COLUMN position BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE todos t SET position = 65536 * (
+    SELECT COUNT(*) FROM todos p WHERE p.todo_list_id = t.todo_list_id AND p.id <= t.id);
+
+-- List reads filter by list and completion status and sort by position
+CREATE INDEX idx_todos_list_completed_position ON todos (todo_list_id, completed, position);
+
+-- Todo IDs come from a pooled sequence, so Hibernate can batch inserts
+CREATE SEQUENCE todos_seq START WITH 1 INCREMENT BY 50;
+
+-- Optimistic locking version of notes; existing rows start at version 0
+ALTER TABLE notes ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,6 @@
+-- Todo IDs of existing rows came from the identity column. Hibernate's pooled optimizer hands out
+-- the 50 IDs up to each sequence value, so the next value must be the highest existing ID plus 50
+ALTER SEQUENCE todos_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM todos);
+
+-- New IDs come only from todos_seq
+ALTER TABLE todos ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,28 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and only receive later migrations.
+
+CREATE TABLE todo_lists (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(200) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE todos (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    description  VARCHAR(200) NOT NULL,
+    completed    BIT NOT NULL,
+    todo_list_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todos_todo_list FOREIGN KEY (todo_list_id) REFERENCES todo_lists (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE notes (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    title      VARCHAR(200),
+    body       MEDIUMTEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
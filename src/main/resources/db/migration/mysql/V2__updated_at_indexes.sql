@@ -0,0 +1,5 @@
+-- The dashboard feed pages todo lists and notes by (updated_at DESC, id DESC),
+-- and collection versions read MAX(updated_at)
+CREATE INDEX idx_todo_lists_updated_at ON todo_lists (updated_at DESC, id DESC);
+
+CREATE INDEX idx_notes_updated_at ON notes (updated_at DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Soft-deleted todo lists are hidden by deleted_at and purged with their todos in the background
+ALTER TABLE todo_lists ADD COLUMN deleted_at DATETIME(6);
+
+CREATE INDEX idx_todo_lists_deleted_at ON todo_lists (deleted_at);
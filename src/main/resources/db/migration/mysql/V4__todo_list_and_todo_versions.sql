@@ -0,0 +1,3 @@
+-- Optimistic locking versions; existing rows start at version 0
+ALTER TABLE todo_lists ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE todos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,33 @@
+-- Columns the entities gained before the schema was managed by migrations, with their values
+-- computed for existing rows
+
+-- Denormalized todo counts of each list
+ALTER TABLE todo_lists
+    ADD COLUMN total_todos INT NOT NULL DEFAULT 0,
+    ADD COLUMN completed_todos INT NOT NULL DEFAULT 0;
+
+UPDATE todo_lists l
+JOIN (SELECT todo_list_id, COUNT(*) AS total, SUM(completed) AS done FROM todos GROUP BY todo_list_id) c
+    ON c.todo_list_id = l.id
+SET l.total_todos = c.total, l.completed_todos = c.done;
+
+-- User-defined order, 65536 apart; existing todos keep their creation order.
+-- The index also serves the foreign key.
+ALTER TABLE todos
+    ADD COLUMN position BIGINT NOT NULL DEFAULT 0,
+    ADD INDEX idx_todos_list_completed_position (todo_list_id, completed, position);
+
+UPDATE todos t
+JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY todo_list_id ORDER BY id) AS n FROM todos) r ON r.id = t.id
+SET t.position = 65536 * r.n;
+
+-- Todo IDs come from a pooled sequence, so Hibernate can batch inserts.
+-- MySQL has no sequences; Hibernate emulates todos_seq with a single-row table
+CREATE TABLE todos_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO todos_seq VALUES (1);
+
+-- Optimistic locking version of notes; existing rows start at version 0
+ALTER TABLE notes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,139 @@
+package com.example.todo.config;
+
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.entities.Note;
+import com.example.todo.entities.Todo;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.services.TodoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level and query cache hits across transactions, and invalidation after writes.
+ * Each read runs in its own transaction, so a read without statements was served by the cache.
+ */
+@SpringBootTest(properties = "todo.second-level-cache.enabled=true")
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long listId;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+
+        TodoListRequest request = new TodoListRequest();
+        request.setName("List");
+        listId = todoService.createTodoList(request).getId();
+        todoService.applyTodoBatch(listId, creations(3));
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void entitiesAreServedFromCacheInLaterTransactions() {
+        Long noteId = noteRepository.save(new Note("Title", "Body")).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        todoListRepository.findById(listId).orElseThrow();
+        noteRepository.findById(noteId).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        todoListRepository.findById(listId).orElseThrow();
+        noteRepository.findById(noteId).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TODO_LISTS).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.NOTES).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listQueriesAreServedFromQueryCacheUntilTodosChange() {
+        List<Long> first = ids(todoRepository.findByTodoListIdOrderByPositionAscIdAsc(listId));
+        long statements = statistics.getPrepareStatementCount();
+
+        List<Long> second = ids(todoRepository.findByTodoListIdOrderByPositionAscIdAsc(listId));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TODOS).getHitCount()).isEqualTo(3);
+
+        todoService.applyTodoBatch(listId, creations(1));
+
+        assertThat(todoRepository.findByTodoListIdOrderByPositionAscIdAsc(listId)).hasSize(4);
+    }
+
+    @Test
+    void todosOfListAreServedFromCollectionCacheUntilTodosChange() {
+        assertThat(countTodosOfList()).isEqualTo(3);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(countTodosOfList()).isEqualTo(3);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TODO_LIST_TODOS).getHitCount())
+                .isEqualTo(1);
+
+        todoService.applyTodoBatch(listId, creations(1));
+
+        assertThat(countTodosOfList()).isEqualTo(4);
+    }
+
+    private int countTodosOfList() {
+        return transactionTemplate.execute(status -> todoListRepository.findById(listId).orElseThrow().getTodos().size());
+    }
+
+    private static List<Long> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).toList();
+    }
+
+    private static List<TodoBatchOperation> creations(int count) {
+        List<TodoBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TodoBatchOperation operation = new TodoBatchOperation();
+            operation.setType(TodoBatchOperation.Type.CREATE);
+            operation.setDescription("Todo " + i);
+            operations.add(operation);
+        }
+        return operations;
+    }
+}
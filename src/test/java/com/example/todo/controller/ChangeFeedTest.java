@@ -0,0 +1,116 @@
+package com.example.todo.controller;
+
+import com.example.todo.services.ChangeFeedService;
+import com.example.todo.util.ChangeOperation;
+import com.example.todo.util.EntityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Change feed streams resumed from a Last-Event-ID, against a ring buffer of 8 events
+ * and subscriber queues of 4 events.
+ */
+@SpringBootTest(properties = {"todo.changes.buffer-size=8", "todo.changes.subscriber-queue-size=4"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void resumeReplaysMissedEventsFromTheBuffer() throws Exception {
+        long last = latestEventId();
+        publish(101L);
+        publish(102L);
+
+        String content = awaitContent(stream(last), "id:" + (last + 2));
+
+        assertThat(content).contains("id:" + (last + 1), "\"id\":101", "\"id\":102").doesNotContain("event:reset");
+    }
+
+    @Test
+    void resumeFromAnEvictedEventSendsReset() throws Exception {
+        long last = latestEventId();
+        for (long id = 1; id <= 10; id++) {
+            publish(id);
+        }
+
+        String content = awaitContent(stream(last), "event:reset");
+
+        assertThat(content).contains("id:" + (last + 10)).doesNotContain("event:change");
+    }
+
+    @Test
+    void resumeWithMoreMissedEventsThanTheQueueHoldsSendsReset() throws Exception {
+        long last = latestEventId();
+        for (long id = 1; id <= 5; id++) {
+            publish(id);
+        }
+
+        String content = awaitContent(stream(last), "event:reset");
+
+        assertThat(content).contains("id:" + (last + 5)).doesNotContain("event:change");
+    }
+
+    @Test
+    void liveEventsReachEverySubscriber() throws Exception {
+        MvcResult first = stream(null);
+        MvcResult second = stream(null);
+        // Subscriptions are registered on the sender thread in order, so both are live once this returns
+        latestEventId();
+        publish(201L);
+
+        assertThat(awaitContent(first, "\"id\":201")).contains("event:change");
+        assertThat(awaitContent(second, "\"id\":201")).contains("event:change");
+    }
+
+    /**
+     * The ID of the newest event, taken from the reset event sent for a resume point from the future.
+     */
+    private long latestEventId() throws Exception {
+        String content = awaitContent(stream(Long.MAX_VALUE), "event:reset");
+        String id = content.substring(content.indexOf("id:") + 3);
+        return Long.parseLong(id.substring(0, id.indexOf('\n')).trim());
+    }
+
+    private void publish(Long id) {
+        changeFeedService.publish(EntityType.NOTE, id, null, ChangeOperation.UPDATED, LocalDateTime::now);
+    }
+
+    private MvcResult stream(Long lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/changes/stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.services.NoteService;
+import com.example.todo.services.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streamed collection endpoints produce the same JSON as serializing the complete lists,
+ * with more lists than are written between two flushes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CollectionStreamingTest {
+
+    private static final int LISTS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+
+        for (int i = 0; i < LISTS; i++) {
+            TodoListRequest list = new TodoListRequest();
+            list.setName("List " + i);
+            Long listId = todoService.createTodoList(list).getId();
+            // Every third list stays empty
+            if (i % 3 != 0) {
+                todoService.applyTodoBatch(listId, creations(3));
+            }
+
+            NoteRequest note = new NoteRequest();
+            note.setTitle("Note " + i);
+            note.setBody("Body of note " + i);
+            noteService.createNote(note);
+        }
+    }
+
+    @Test
+    void todoListsMatchCompleteSerialization() throws Exception {
+        String streamed = stream("/api/todo-lists");
+
+        assertThat(objectMapper.readTree(streamed))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(todoService.getAllTodoLists())));
+        assertThat(objectMapper.readTree(streamed)).hasSize(LISTS);
+    }
+
+    @Test
+    void notesMatchCompleteSerialization() throws Exception {
+        String streamed = stream("/api/notes");
+
+        assertThat(objectMapper.readTree(streamed))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(noteService.getAllNotes())));
+        assertThat(objectMapper.readTree(streamed)).hasSize(LISTS);
+    }
+
+    @Test
+    void emptyCollectionIsEmptyArray() throws Exception {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+
+        assertThat(stream("/api/todo-lists")).isEqualTo("[]");
+    }
+
+    private String stream(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private static List<TodoBatchOperation> creations(int count) {
+        List<TodoBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TodoBatchOperation operation = new TodoBatchOperation();
+            operation.setType(TodoBatchOperation.Type.CREATE);
+            operation.setDescription("Todo " + i);
+            operations.add(operation);
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.services.NoteService;
+import com.example.todo.services.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Update and delete endpoints with If-Match preconditions and stale versions in the body,
+ * and page validators that must not hide flash messages.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private Long listId;
+    private Long todoId;
+    private Long noteId;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+
+        TodoListRequest listRequest = new TodoListRequest();
+        listRequest.setName("List");
+        listId = todoService.createTodoList(listRequest).getId();
+
+        TodoRequest todoRequest = new TodoRequest();
+        todoRequest.setDescription("Todo");
+        todoId = todoService.createTodo(listId, todoRequest).orElseThrow().getId();
+
+        NoteRequest noteRequest = new NoteRequest();
+        noteRequest.setTitle("Note");
+        noteRequest.setBody("Body");
+        noteId = noteService.createNote(noteRequest).getId();
+    }
+
+    @Test
+    void updateWithCurrentETagSucceedsOnce() throws Exception {
+        String etag = mockMvc.perform(get("/api/todo-lists/{listId}", listId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/todo-lists/{listId}", listId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(put("/api/todo-lists/{listId}", listId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed again\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void todoChangesDoNotFailListPrecondition() throws Exception {
+        String etag = mockMvc.perform(get("/api/todo-lists/{listId}", listId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        todoService.toggleTodo(listId, todoId);
+
+        mockMvc.perform(put("/api/todo-lists/{listId}", listId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleBodyVersionConflicts() throws Exception {
+        mockMvc.perform(put("/api/notes/{id}", noteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Edited\",\"body\":\"Body\",\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(put("/api/notes/{id}", noteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Edited again\",\"body\":\"Body\",\"version\":0}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void todoUpdateAndDeleteCheckIfMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/todo-lists/{listId}/todos/{todoId}", listId, todoId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/todo-lists/{listId}/todos/{todoId}", listId, todoId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Edited\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/todo-lists/{listId}/todos/{todoId}", listId, todoId)
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/todo-lists/{listId}/todos/{todoId}", listId, todoId)
+                        .header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deleteWithForeignETagFailsPrecondition() throws Exception {
+        mockMvc.perform(delete("/api/notes/{id}", noteId)
+                        .header(HttpHeaders.IF_MATCH, "\"todolist-" + listId + "-v0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/todo-lists/{listId}", listId)
+                        .header(HttpHeaders.IF_MATCH, "\"todolist-" + listId + "-v0\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void pageWithFlashMessageIsRenderedDespiteMatchingETag() throws Exception {
+        String listETag = mockMvc.perform(get("/lists/{listId}", listId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/lists/{listId}", listId).header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/lists/{listId}", listId)
+                        .header(HttpHeaders.IF_NONE_MATCH, listETag)
+                        .flashAttr("errorMessage", "Description is required"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("errorMessage", "Description is required"));
+
+        String noteETag = mockMvc.perform(get("/notes/{noteId}", noteId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/notes/{noteId}", noteId)
+                        .header(HttpHeaders.IF_NONE_MATCH, noteETag)
+                        .flashAttr("errorMessage", "Title is required"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("errorMessage", "Title is required"));
+    }
+}
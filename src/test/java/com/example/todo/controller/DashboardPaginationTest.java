@@ -0,0 +1,135 @@
+package com.example.todo.controller;
+
+import com.example.todo.entities.Note;
+import com.example.todo.entities.TodoList;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walking the dashboard feed page by page with keyset cursors, including items that share an update time.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardPaginationTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 5, 6, 7, 8, 9);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /** The feed in its expected order, as "TYPE-id". */
+    private final List<String> expected = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+        expected.clear();
+
+        // Newest first; on equal update times lists before notes (type order), then highest ID first
+        Long newestList = list(TIME.plusSeconds(1));
+        List<Long> tiedLists = List.of(list(TIME), list(TIME), list(TIME));
+        List<Long> tiedNotes = List.of(note(TIME), note(TIME), note(TIME));
+        Long oldestNote = note(TIME.minusSeconds(1));
+
+        expected.add("TODOLIST-" + newestList);
+        for (int i = tiedLists.size() - 1; i >= 0; i--) {
+            expected.add("TODOLIST-" + tiedLists.get(i));
+        }
+        for (int i = tiedNotes.size() - 1; i >= 0; i--) {
+            expected.add("NOTE-" + tiedNotes.get(i));
+        }
+        expected.add("NOTE-" + oldestNote);
+    }
+
+    @Test
+    void everyPageSizeWalksTheWholeFeedOnce() throws Exception {
+        for (int limit = 1; limit <= expected.size() + 1; limit++) {
+            assertThat(walk(limit)).as("limit %d", limit).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        for (String cursor : List.of("%%%", encode("not-a-cursor"), encode("2024-05-06T07:08:09|BOGUS|1"),
+                encode("2024-05-06T07:08:09|NOTE|abc"), encode("yesterday|NOTE|1"))) {
+            mockMvc.perform(get("/api/dashboard").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private List<String> walk(int limit) throws Exception {
+        List<String> items = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder builder = get("/api/dashboard").param("limit", String.valueOf(limit));
+            if (cursor != null) {
+                builder.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(builder)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(limit);
+            page.get("items").forEach(item -> items.add(item.get("entityType").asText() + "-" + item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            assertThat(++pages).as("pages at limit %d", limit).isLessThanOrEqualTo(expected.size() + 1);
+        } while (cursor != null);
+        return items;
+    }
+
+    private Long list(LocalDateTime updatedAt) {
+        Long id = todoListRepository.save(new TodoList("List")).getId();
+        transactionTemplate.executeWithoutResult(status -> todoListRepository.restoreTimestamps(id, updatedAt, updatedAt));
+        return id;
+    }
+
+    private Long note(LocalDateTime updatedAt) {
+        Long id = noteRepository.save(new Note("Note", "Body")).getId();
+        transactionTemplate.executeWithoutResult(status -> noteRepository.restoreTimestamps(id, updatedAt, updatedAt));
+        return id;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
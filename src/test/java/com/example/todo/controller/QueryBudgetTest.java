@@ -0,0 +1,267 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.DashboardCursor;
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.metrics.QueryStats;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.services.NoteService;
+import com.example.todo.services.TodoService;
+import com.example.todo.util.EntityType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Runs every endpoint against a small and a ten times larger dataset and requires the same number
+ * of SQL statements for both, so N+1 queries fail the build. The test profile also fails any request
+ * over its query budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    /**
+     * Endpoints that insert todos may fetch the next block of pooled sequence IDs,
+     * which costs one extra statement every 50 inserts.
+     */
+    private static final Set<String> SEQUENCE_INSERTS = Set.of(
+            "POST /api/todo-lists/{listId}/todos", "POST /api/todo-lists/{listId}/todos:batch",
+            "POST /api/import", "POST /lists/{listId}/todos");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private record Fixture(Long listId, Long otherListId, List<Long> todoIds, Long noteId, Long otherNoteId) {
+    }
+
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readEndpointsDoNotScaleWithData() throws Exception {
+        Fixture small = seed(3, 5, 3);
+        Map<String, Long> smallCounts = countReads(small);
+
+        Fixture large = seed(30, 40, 30);
+        Map<String, Long> largeCounts = countReads(large);
+
+        assertThat(largeCounts).isEqualTo(smallCounts);
+    }
+
+    @Test
+    void writeEndpointsDoNotScaleWithData() throws Exception {
+        Fixture small = seed(3, 5, 3);
+        Map<String, Long> smallCounts = countWrites(small);
+
+        Fixture large = seed(30, 40, 30);
+        Map<String, Long> largeCounts = countWrites(large);
+
+        assertThat(largeCounts.keySet()).isEqualTo(smallCounts.keySet());
+        smallCounts.forEach((endpoint, count) -> {
+            long tolerance = SEQUENCE_INSERTS.contains(endpoint) ? 1 : 0;
+            assertThat(largeCounts.get(endpoint)).as(endpoint).isBetween(count - tolerance, count + tolerance);
+        });
+    }
+
+    private Map<String, Long> countReads(Fixture f) throws Exception {
+        Long todoId = f.todoIds().get(0);
+        String cursor = new DashboardCursor(LocalDateTime.now().plusDays(1), EntityType.TODOLIST, Long.MAX_VALUE).encode();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("GET /api/todo-lists", count(get("/api/todo-lists")));
+        counts.put("GET /api/todo-lists/{listId}", count(get("/api/todo-lists/{id}", f.listId())));
+        counts.put("GET /api/todo-lists/{listId}/todos", count(get("/api/todo-lists/{id}/todos", f.listId())));
+        counts.put("GET /api/todo-lists/{listId}/todos?completed", count(get("/api/todo-lists/{id}/todos", f.listId())
+                .param("completed", "false")));
+        counts.put("GET /api/todo-lists/{listId}/todos/{todoId}",
+                count(get("/api/todo-lists/{id}/todos/{todoId}", f.listId(), todoId)));
+        counts.put("GET /api/notes", count(get("/api/notes")));
+        counts.put("GET /api/notes/{id}", count(get("/api/notes/{id}", f.noteId())));
+        counts.put("GET /api/dashboard", count(get("/api/dashboard")));
+        counts.put("GET /api/dashboard?cursor", count(get("/api/dashboard").param("cursor", cursor)));
+        counts.put("GET /api/search", count(get("/api/search").param("q", "list")));
+        counts.put("GET /api/cache/stats", count(get("/api/cache/stats")));
+
+        counts.put("GET /", count(get("/")));
+        counts.put("GET /dashboard/items", count(get("/dashboard/items").param("cursor", cursor)));
+        counts.put("GET /search", count(get("/search").param("q", "todo")));
+        counts.put("GET /lists/new", count(get("/lists/new")));
+        counts.put("GET /lists/{listId}/todos/new", count(get("/lists/{id}/todos/new", f.listId())));
+        counts.put("GET /notes/new", count(get("/notes/new")));
+        counts.put("GET /lists/{id}/edit", count(get("/lists/{id}/edit", f.listId())));
+        counts.put("GET /lists/{listId}/todos/{todoId}/edit",
+                count(get("/lists/{id}/todos/{todoId}/edit", f.listId(), todoId)));
+        counts.put("GET /notes/{id}/edit", count(get("/notes/{id}/edit", f.noteId())));
+        counts.put("GET /lists/{id}/delete-confirm", count(get("/lists/{id}/delete-confirm", f.listId())));
+        counts.put("GET /lists/{listId}/todos/{todoId}/delete-confirm",
+                count(get("/lists/{id}/todos/{todoId}/delete-confirm", f.listId(), todoId)));
+        counts.put("GET /notes/{id}/delete-confirm", count(get("/notes/{id}/delete-confirm", f.noteId())));
+        counts.put("GET /lists/{listId}", count(get("/lists/{id}", f.listId())));
+        counts.put("GET /lists/{listId}?filter=pending", count(get("/lists/{id}", f.listId()).param("filter", "pending")));
+        counts.put("GET /lists/{listId}?filter=completed", count(get("/lists/{id}", f.listId()).param("filter", "completed")));
+        counts.put("GET /notes/{noteId}", count(get("/notes/{id}", f.noteId())));
+        return counts;
+    }
+
+    private Map<String, Long> countWrites(Fixture f) throws Exception {
+        List<Long> todos = f.todoIds();
+        long noteVersion = noteService.getNote(f.noteId()).orElseThrow().getVersion();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("POST /api/todo-lists", count(json(post("/api/todo-lists"), "{\"name\":\"Created\"}")));
+        counts.put("PUT /api/todo-lists/{listId}", count(json(put("/api/todo-lists/{id}", f.listId()),
+                "{\"name\":\"Renamed\"}")));
+        counts.put("POST /api/todo-lists/{listId}/todos", count(json(post("/api/todo-lists/{id}/todos", f.listId()),
+                "{\"description\":\"Created\"}")));
+        counts.put("PUT /api/todo-lists/{listId}/todos/{todoId}", count(json(
+                put("/api/todo-lists/{id}/todos/{todoId}", f.listId(), todos.get(0)), "{\"description\":\"Edited\"}")));
+        counts.put("PATCH /api/todo-lists/{listId}/todos/{todoId}/complete",
+                count(patch("/api/todo-lists/{id}/todos/{todoId}/complete", f.listId(), todos.get(1))));
+        counts.put("PATCH /api/todo-lists/{listId}/todos/{todoId}/incomplete",
+                count(patch("/api/todo-lists/{id}/todos/{todoId}/incomplete", f.listId(), todos.get(1))));
+        counts.put("POST /api/todo-lists/{listId}/todos/{todoId}/toggle",
+                count(post("/api/todo-lists/{id}/todos/{todoId}/toggle", f.listId(), todos.get(1))));
+        counts.put("PATCH /api/todo-lists/{listId}/todos/{todoId}/move", count(json(
+                patch("/api/todo-lists/{id}/todos/{todoId}/move", f.listId(), todos.get(0)),
+                "{\"afterTodoId\":" + todos.get(2) + "}")));
+        counts.put("POST /api/todo-lists/{listId}/todos:batch", count(json(
+                post("/api/todo-lists/{id}/todos:batch", f.listId()),
+                "{\"operations\":[{\"type\":\"CREATE\",\"description\":\"Batched\"},"
+                        + "{\"type\":\"COMPLETE\",\"todoId\":" + todos.get(2) + "},"
+                        + "{\"type\":\"DELETE\",\"todoId\":" + todos.get(3) + "}]}")));
+        counts.put("DELETE /api/todo-lists/{listId}/todos/{todoId}",
+                count(delete("/api/todo-lists/{id}/todos/{todoId}", f.listId(), todos.get(4))));
+        counts.put("POST /api/notes", count(json(post("/api/notes"), "{\"title\":\"Created\",\"body\":\"Body\"}")));
+        counts.put("PUT /api/notes/{id}", count(json(put("/api/notes/{id}", f.noteId()),
+                "{\"title\":\"Edited\",\"body\":\"Edited body\"}")));
+        counts.put("PATCH /api/notes/{id}", count(json(patch("/api/notes/{id}", f.noteId()),
+                "{\"baseVersion\":" + (noteVersion + 1) + ",\"edits\":[{\"position\":0,\"insert\":\"Hi \"}]}")));
+        counts.put("DELETE /api/notes/{id}", count(delete("/api/notes/{id}", f.otherNoteId())));
+        counts.put("POST /api/import", count(post("/api/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                        {"type":"TODOLIST","id":1,"name":"Imported"}
+                        {"type":"TODO","todoListId":1,"description":"Imported todo","completed":true}
+                        {"type":"NOTE","title":"Imported note","body":"Body"}
+                        """)));
+        counts.put("DELETE /api/todo-lists/{listId}", count(delete("/api/todo-lists/{id}", f.otherListId())));
+
+        Fixture web = seed(1, 5, 2);
+        List<Long> webTodos = web.todoIds();
+        counts.put("POST /lists", count(post("/lists").param("name", "Created")));
+        counts.put("POST /lists/{listId}/todos", count(post("/lists/{id}/todos", web.listId())
+                .param("description", "Created")));
+        counts.put("POST /notes", count(post("/notes").param("title", "Created").param("body", "Body")));
+        counts.put("POST /lists/{listId}/update", count(post("/lists/{id}/update", web.listId())
+                .param("name", "Renamed")));
+        counts.put("POST /lists/{listId}/todos/{todoId}/update", count(
+                post("/lists/{id}/todos/{todoId}/update", web.listId(), webTodos.get(0)).param("description", "Edited")));
+        counts.put("POST /lists/{listId}/todos/{todoId}/toggle",
+                count(post("/lists/{id}/todos/{todoId}/toggle", web.listId(), webTodos.get(1))));
+        counts.put("POST /notes/{noteId}/update", count(post("/notes/{id}/update", web.noteId())
+                .param("title", "Edited").param("body", "Edited body")));
+        counts.put("POST /lists/{listId}/todos/{todoId}/delete",
+                count(post("/lists/{id}/todos/{todoId}/delete", web.listId(), webTodos.get(2))));
+        counts.put("POST /notes/{noteId}/delete", count(post("/notes/{id}/delete", web.otherNoteId())));
+        counts.put("POST /lists/{listId}/delete", count(post("/lists/{id}/delete", web.listId())));
+        return counts;
+    }
+
+    /**
+     * Perform a request and return the number of SQL statements it ran.
+     */
+    private long count(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus())
+                .as(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI())
+                .isBetween(200, 399);
+        return QueryStats.statements();
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    /**
+     * Add lists with todos and notes to the database.
+     * The first two lists and notes are returned for the endpoints to work on.
+     */
+    private Fixture seed(int lists, int todosPerList, int notes) {
+        // Notes first, so the most recently updated dashboard items are lists with todos in every fixture
+        // and the dashboard always loads their previews
+        List<Long> noteIds = new ArrayList<>();
+        for (int i = 0; i < notes; i++) {
+            NoteRequest noteRequest = new NoteRequest();
+            noteRequest.setTitle("Note " + i);
+            noteRequest.setBody("Body " + i);
+            noteIds.add(noteService.createNote(noteRequest).getId());
+        }
+
+        List<Long> listIds = new ArrayList<>();
+        List<Long> firstListTodos = new ArrayList<>();
+        for (int i = 0; i < lists; i++) {
+            TodoListRequest listRequest = new TodoListRequest();
+            listRequest.setName("List " + i);
+            Long listId = todoService.createTodoList(listRequest).getId();
+            listIds.add(listId);
+
+            List<TodoBatchOperation> operations = new ArrayList<>();
+            for (int j = 0; j < todosPerList; j++) {
+                TodoBatchOperation operation = new TodoBatchOperation();
+                operation.setType(TodoBatchOperation.Type.CREATE);
+                operation.setDescription("Todo " + j);
+                operations.add(operation);
+            }
+            List<TodoBatchResult> results = todoService.applyTodoBatch(listId, operations).orElseThrow();
+            if (i == 0) {
+                results.forEach(result -> firstListTodos.add(result.getTodo().getId()));
+            }
+        }
+
+        Long otherListId = listIds.size() > 1 ? listIds.get(1) : listIds.get(0);
+        Long otherNoteId = noteIds.size() > 1 ? noteIds.get(1) : noteIds.get(0);
+        return new Fixture(listIds.get(0), otherListId, firstListTodos, noteIds.get(0), otherNoteId);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.entities.Note;
+import com.example.todo.entities.Todo;
+import com.example.todo.entities.TodoList;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.services.NoteService;
+import com.example.todo.services.SearchService;
+import com.example.todo.services.TodoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Search results for todo lists, todos and notes as they are created, renamed and deleted,
+ * and after the index is rebuilt from the database. Each test uses its own words, so documents
+ * other tests left in the shared index do not match.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void titleMatchesRankAboveBodyMatches() throws Exception {
+        Long bodyOnly = createNote("Marsupials", "The quokka smiles");
+        Long listId = createList("Quokka habitat");
+        Long todoId = createTodo(listId, "Feed the quokka");
+        Long titleAndBody = createNote("Quokka facts", "A quokka weighs little");
+
+        List<String> results = search("quokka");
+
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0)).isEqualTo("NOTE-" + titleAndBody);
+        assertThat(results.subList(1, 3)).containsExactlyInAnyOrder("TODOLIST-" + listId, "TODO-" + todoId);
+        assertThat(results.get(3)).isEqualTo("NOTE-" + bodyOnly);
+    }
+
+    @Test
+    void lastTermMatchesAsPrefixAndEveryTermMustMatch() throws Exception {
+        Long listId = createList("Wombat burrow");
+        Long todoId = createTodo(listId, "Measure the wombat tunnel");
+
+        assertThat(search("womb")).containsExactlyInAnyOrder("TODOLIST-" + listId, "TODO-" + todoId);
+        assertThat(search("wombat tun")).containsExactly("TODO-" + todoId);
+        assertThat(search("tunnel burrow")).isEmpty();
+    }
+
+    @Test
+    void renamedItemsAreFoundByTheirNewText() throws Exception {
+        Long listId = createList("Pangolin list");
+        Long todoId = createTodo(listId, "Pangolin todo");
+        Long noteId = createNote("Pangolin note", "Pangolin body");
+
+        TodoListRequest listRequest = new TodoListRequest();
+        listRequest.setName("Armadillo list");
+        todoService.updateTodoList(listId, listRequest);
+        TodoRequest todoRequest = new TodoRequest();
+        todoRequest.setDescription("Armadillo todo");
+        todoService.updateTodo(listId, todoId, todoRequest);
+        NoteRequest noteRequest = new NoteRequest();
+        noteRequest.setTitle("Armadillo note");
+        noteRequest.setBody("Armadillo body");
+        noteService.updateNote(noteId, noteRequest);
+
+        assertThat(search("pangolin")).isEmpty();
+        assertThat(search("armadillo")).containsExactlyInAnyOrder(
+                "TODOLIST-" + listId, "TODO-" + todoId, "NOTE-" + noteId);
+    }
+
+    @Test
+    void deletedItemsAreNoLongerFound() throws Exception {
+        Long listId = createList("Narwhal list");
+        Long firstTodoId = createTodo(listId, "Narwhal first");
+        Long secondTodoId = createTodo(listId, "Narwhal second");
+        Long noteId = createNote("Narwhal note", null);
+
+        todoService.deleteTodo(listId, firstTodoId, null);
+        assertThat(search("narwhal")).containsExactlyInAnyOrder(
+                "TODOLIST-" + listId, "TODO-" + secondTodoId, "NOTE-" + noteId);
+
+        noteService.deleteNote(noteId, null);
+        todoService.deleteTodoList(listId, null);
+        assertThat(search("narwhal")).isEmpty();
+    }
+
+    @Test
+    void rebuildIndexesRowsWrittenAroundTheServices() throws Exception {
+        Long listId = createList("Axolotl stale");
+        // Written through the repositories, so only a rebuild picks them up
+        TodoList list = todoListRepository.save(new TodoList("Axolotl tank"));
+        Todo todo = todoRepository.save(new Todo("Clean the axolotl tank", list));
+        Note note = noteRepository.save(new Note("Axolotl", "Gills"));
+        todoListRepository.deleteAllById(List.of(listId));
+        assertThat(search("axolotl")).containsExactly("TODOLIST-" + listId);
+
+        searchService.rebuild();
+
+        assertThat(search("axolotl")).containsExactlyInAnyOrder(
+                "TODOLIST-" + list.getId(), "TODO-" + todo.getId(), "NOTE-" + note.getId());
+    }
+
+    private Long createList(String name) {
+        TodoListRequest request = new TodoListRequest();
+        request.setName(name);
+        return todoService.createTodoList(request).getId();
+    }
+
+    private Long createTodo(Long listId, String description) {
+        TodoRequest request = new TodoRequest();
+        request.setDescription(description);
+        return todoService.createTodo(listId, request).orElseThrow().getId();
+    }
+
+    private Long createNote(String title, String body) {
+        NoteRequest request = new NoteRequest();
+        request.setTitle(title);
+        request.setBody(body);
+        return noteService.createNote(request).getId();
+    }
+
+    /**
+     * Search through the API and return the results in order, as "TYPE-id".
+     */
+    private List<String> search(String query) throws Exception {
+        JsonNode results = objectMapper.readTree(mockMvc.perform(get("/api/search").param("q", query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        List<String> keys = new ArrayList<>();
+        results.forEach(result -> keys.add(result.get("entityType").asText() + "-" + result.get("id").asLong()));
+        return keys;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.todo.datasource;
+
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.NoteResponse;
+import com.example.todo.services.NoteService;
+import com.example.todo.services.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two H2 file databases. The replica is migrated but never receives writes,
+ * so a read that finds a newly created note was served by the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/replica-routing/primary",
+        "todo.datasource.replicas[0].url=jdbc:h2:file:./target/replica-routing/replica",
+        "todo.datasource.replicas[0].username=sa",
+        "todo.datasource.migrate-replicas=true",
+        "todo.datasource.read-your-writes-window=500ms"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Test
+    void readsFollowWritesWithinWindowAndGoToReplicaOtherwise() throws Exception {
+        NoteRequest request = new NoteRequest();
+        request.setTitle("Routed");
+        request.setBody("Only on the primary");
+        Long id = noteService.createNote(request).getId();
+
+        // The writing thread reads its own write from the primary
+        assertThat(noteService.getNote(id)).isPresent();
+
+        // Another client has not written, so it reads from the replica
+        Optional<NoteResponse> elsewhere = CompletableFuture.supplyAsync(() -> noteService.getNote(id)).get();
+        assertThat(elsewhere).isEmpty();
+
+        // Once the window has passed, the writing thread reads from the replica as well
+        Thread.sleep(600);
+        assertThat(noteService.getNote(id)).isEmpty();
+    }
+
+    @Test
+    void searchRebuildReadsFromThePrimary() throws Exception {
+        NoteRequest request = new NoteRequest();
+        request.setTitle("Ocelot");
+        request.setBody("Only on the primary");
+        Long id = noteService.createNote(request).getId();
+
+        // Rebuilt by a thread that has not written, which would otherwise read from the empty replica
+        CompletableFuture.runAsync(searchService::rebuild).get();
+
+        assertThat(searchService.search("ocelot", 10))
+                .anySatisfy(result -> assertThat(result.getId()).isEqualTo(id));
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.services.NoteService;
+import com.example.todo.services.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Self-contained load test: starts the application on an in-memory H2 database, seeds a dataset
+ * through the service layer, drives a weighted mix of API and page requests from concurrent clients
+ * and reports latency percentiles, throughput and errors per endpoint.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:exec}; override any {@code loadtest.*} property
+ * from application-loadtest.properties with {@code -Dloadtest.args="--loadtest.concurrency=64"}.
+ * Dataset and request sequence are derived from {@code loadtest.seed}, so runs with the same
+ * settings issue the same requests and can be compared.
+ */
+public class LoadTestHarness {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private record Sample(String endpoint, long nanos, boolean ok, boolean conflict) {
+    }
+
+    private record Dataset(List<Long> listIds, List<Long> todoIds, List<Long> todoListIdsByTodo, List<Long> noteIds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(TodoApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run(withDefaultPort(args))) {
+            Environment env = context.getEnvironment();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            long seed = env.getProperty("loadtest.seed", Long.class, 42L);
+
+            long seedStart = System.nanoTime();
+            Dataset dataset = seed(context, env, new Random(seed));
+            long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+            System.out.printf("Seeded %d lists, %d todos, %d notes in %d ms%n",
+                    dataset.listIds().size(), dataset.todoIds().size(), dataset.noteIds().size(), seedMillis);
+
+            Map<String, Integer> mix = parseMix(env.getRequiredProperty("loadtest.mix"));
+            int concurrency = env.getProperty("loadtest.concurrency", Integer.class, 16);
+            int hotTodos = env.getProperty("loadtest.hot-todos", Integer.class, 0);
+            String baseUrl = "http://localhost:" + port;
+
+            run(baseUrl, dataset, mix, concurrency, hotTodos,
+                    env.getProperty("loadtest.warmup-requests", Integer.class, 0), seed - 1);
+            long start = System.nanoTime();
+            List<Sample> samples = run(baseUrl, dataset, mix, concurrency, hotTodos,
+                    env.getProperty("loadtest.requests", Integer.class, 10_000), seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            Map<String, Object> config = new LinkedHashMap<>();
+            for (String key : List.of("lists", "todos-per-list", "notes", "note-size", "mix",
+                    "concurrency", "hot-todos", "warmup-requests", "requests", "seed")) {
+                config.put(key, env.getProperty("loadtest." + key));
+            }
+            config.put("java", System.getProperty("java.version"));
+            config.put("processors", Runtime.getRuntime().availableProcessors());
+            report.put("config", config);
+            report.put("seedMillis", seedMillis);
+            report.put("durationSeconds", seconds);
+            report.put("endpoints", summarize(samples, seconds));
+
+            print(report);
+            write(report, Path.of(env.getProperty("loadtest.output-dir", "target/loadtest")));
+        }
+    }
+
+    private static String[] withDefaultPort(String[] args) {
+        boolean hasPort = Arrays.stream(args).anyMatch(arg -> arg.startsWith("--server.port="));
+        if (hasPort) {
+            return args;
+        }
+        String[] result = Arrays.copyOf(args, args.length + 1);
+        result[args.length] = "--server.port=0";
+        return result;
+    }
+
+    // ===================== SEEDING =====================
+
+    private static Dataset seed(ConfigurableApplicationContext context, Environment env, Random random) {
+        TodoService todoService = context.getBean(TodoService.class);
+        NoteService noteService = context.getBean(NoteService.class);
+        int lists = env.getProperty("loadtest.lists", Integer.class, 100);
+        int todosPerList = env.getProperty("loadtest.todos-per-list", Integer.class, 20);
+        int notes = env.getProperty("loadtest.notes", Integer.class, 100);
+        int noteSize = env.getProperty("loadtest.note-size", Integer.class, 2000);
+
+        Dataset dataset = new Dataset(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < lists; i++) {
+            TodoListRequest listRequest = new TodoListRequest();
+            listRequest.setName("List " + i + " " + words(random, 3));
+            Long listId = todoService.createTodoList(listRequest).getId();
+            dataset.listIds().add(listId);
+
+            List<TodoBatchOperation> operations = new ArrayList<>(todosPerList);
+            for (int j = 0; j < todosPerList; j++) {
+                TodoBatchOperation operation = new TodoBatchOperation();
+                operation.setType(TodoBatchOperation.Type.CREATE);
+                operation.setDescription(words(random, 6));
+                operations.add(operation);
+            }
+            if (!operations.isEmpty()) {
+                for (TodoBatchResult result : todoService.applyTodoBatch(listId, operations).orElseThrow()) {
+                    dataset.todoIds().add(result.getTodo().getId());
+                    dataset.todoListIdsByTodo().add(listId);
+                }
+            }
+        }
+        for (int i = 0; i < notes; i++) {
+            NoteRequest noteRequest = new NoteRequest();
+            noteRequest.setTitle("Note " + i + " " + words(random, 3));
+            noteRequest.setBody(text(random, noteSize));
+            dataset.noteIds().add(noteService.createNote(noteRequest).getId());
+        }
+        return dataset;
+    }
+
+    private static final String[] WORDS = {
+            "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliet",
+            "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo", "sierra", "tango"
+    };
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    // ===================== TRAFFIC =====================
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static List<Sample> run(String baseUrl, Dataset dataset, Map<String, Integer> mix,
+                                    int concurrency, int hotTodos, int requests, long seed) throws Exception {
+        if (requests <= 0) {
+            return List.of();
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<String> endpoints = new ArrayList<>(mix.keySet());
+        int[] cumulativeWeights = new int[endpoints.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            totalWeight += mix.get(endpoints.get(i));
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weightSum = totalWeight;
+
+        AtomicInteger remaining = new AtomicInteger(requests);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<List<Sample>>> futures = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                Random random = new Random(seed * 31 + worker);
+                futures.add(workers.submit(() -> {
+                    List<Sample> samples = new ArrayList<>();
+                    while (remaining.getAndDecrement() > 0) {
+                        int pick = random.nextInt(weightSum);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= pick) {
+                            index++;
+                        }
+                        String endpoint = endpoints.get(index);
+                        HttpRequest request = buildRequest(baseUrl, endpoint, dataset, hotTodos, random);
+                        long start = System.nanoTime();
+                        boolean ok;
+                        boolean conflict = false;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            // Rejected concurrent edits are an expected outcome of optimistic locking, not errors
+                            conflict = response.statusCode() == 409 || response.statusCode() == 412;
+                            ok = response.statusCode() < 400 || conflict;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        samples.add(new Sample(endpoint, System.nanoTime() - start, ok, conflict));
+                    }
+                    return samples;
+                }));
+            }
+            List<Sample> samples = new ArrayList<>(requests);
+            for (Future<List<Sample>> future : futures) {
+                samples.addAll(future.get());
+            }
+            return samples;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static HttpRequest buildRequest(String baseUrl, String endpoint, Dataset dataset, int hotTodos,
+                                            Random random) {
+        Long listId = pick(dataset.listIds(), random);
+        Long noteId = pick(dataset.noteIds(), random);
+        return switch (endpoint) {
+            case "page.home" -> get(baseUrl + "/");
+            case "page.list" -> get(baseUrl + "/lists/" + listId);
+            case "page.note" -> get(baseUrl + "/notes/" + noteId);
+            case "api.lists" -> get(baseUrl + "/api/todo-lists");
+            case "api.list" -> get(baseUrl + "/api/todo-lists/" + listId);
+            case "api.todos" -> get(baseUrl + "/api/todo-lists/" + listId + "/todos");
+            case "api.notes" -> get(baseUrl + "/api/notes");
+            case "api.note" -> get(baseUrl + "/api/notes/" + noteId);
+            case "api.create-todo" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/todo-lists/" + listId + "/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"description\":\"" + words(random, 4) + "\"}"))
+                    .build();
+            case "api.toggle-todo" -> HttpRequest.newBuilder(URI.create(todoUrl(baseUrl, dataset, hotTodos, random) + "/toggle"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case "api.update-todo" -> HttpRequest.newBuilder(URI.create(todoUrl(baseUrl, dataset, hotTodos, random)))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"description\":\"" + words(random, 4) + "\"}"))
+                    .build();
+            case "api.update-note" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/notes/" + noteId))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + words(random, 3) + "\",\"body\":\""
+                            + words(random, 40) + "\"}"))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown endpoint in mix: " + endpoint);
+        };
+    }
+
+    /**
+     * URL of a random todo, drawn from the first {@code hotTodos} todos only if set, to create contention.
+     */
+    private static String todoUrl(String baseUrl, Dataset dataset, int hotTodos, Random random) {
+        int bound = hotTodos > 0 ? Math.min(hotTodos, dataset.todoIds().size()) : dataset.todoIds().size();
+        int index = random.nextInt(bound);
+        return baseUrl + "/api/todo-lists/" + dataset.todoListIdsByTodo().get(index) + "/todos/" + dataset.todoIds().get(index);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.isEmpty() ? 0L : ids.get(random.nextInt(ids.size()));
+    }
+
+    // ===================== REPORTING =====================
+
+    private static Map<String, Object> summarize(List<Sample> samples, double seconds) {
+        Map<String, List<Sample>> byEndpoint = new TreeMap<>();
+        samples.forEach(sample -> byEndpoint.computeIfAbsent(sample.endpoint(), e -> new ArrayList<>()).add(sample));
+        byEndpoint.put("ALL", samples);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        byEndpoint.forEach((endpoint, endpointSamples) -> {
+            long[] nanos = endpointSamples.stream().mapToLong(Sample::nanos).sorted().toArray();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", nanos.length);
+            stats.put("errors", endpointSamples.stream().filter(sample -> !sample.ok()).count());
+            stats.put("conflicts", endpointSamples.stream().filter(Sample::conflict).count());
+            stats.put("throughputPerSecond", nanos.length / seconds);
+            stats.put("p50Millis", percentile(nanos, 50));
+            stats.put("p95Millis", percentile(nanos, 95));
+            stats.put("p99Millis", percentile(nanos, 99));
+            stats.put("maxMillis", nanos.length == 0 ? 0 : nanos[nanos.length - 1] / 1e6);
+            summary.put(endpoint, stats);
+        });
+        return summary;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds.
+     */
+    private static double percentile(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+        return sortedNanos[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%-18s %9s %7s %9s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "conflicts", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        ((Map<String, Map<String, Object>>) report.get("endpoints")).forEach((endpoint, stats) ->
+                System.out.printf("%-18s %9d %7d %9d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                        stats.get("requests"), stats.get("errors"), stats.get("conflicts"), stats.get("throughputPerSecond"),
+                        stats.get("p50Millis"), stats.get("p95Millis"), stats.get("p99Millis"), stats.get("maxMillis")));
+    }
+
+    private static void write(Map<String, Object> report, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        Path file = outputDir.resolve("loadtest-" + LocalDateTime.now().format(RUN_ID) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("Wrote " + file);
+    }
+}
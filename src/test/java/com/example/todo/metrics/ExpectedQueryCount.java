@@ -0,0 +1,21 @@
+package com.example.todo.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Asserts that the annotated test method runs exactly {@link #value()} SQL statements.
+ * Only the test method body is counted, not {@code @BeforeEach} setup.
+ * Statements are counted on the test thread, so the code under test must not run asynchronously.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryCountExtension.class)
+public @interface ExpectedQueryCount {
+
+    int value();
+}
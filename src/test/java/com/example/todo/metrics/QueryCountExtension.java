@@ -0,0 +1,32 @@
+package com.example.todo.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Checks {@link ExpectedQueryCount} against the statements counted by {@link QueryStats}.
+ */
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryStats.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        context.getTestMethod()
+                .map(method -> method.getAnnotation(ExpectedQueryCount.class))
+                .ifPresent(expected -> {
+                    long actual = QueryStats.statements();
+                    if (actual != expected.value()) {
+                        throw new AssertionError("Expected " + expected.value() + " SQL statements but "
+                                + actual + " were executed");
+                    }
+                });
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.ImportResult;
+import com.example.todo.repositories.NoteRepository;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import com.example.todo.repositories.projections.NoteView;
+import com.example.todo.repositories.projections.TodoListSummaryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NDJSON import of exported records.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DataTransferServiceTest {
+
+    @Autowired
+    private DataTransferService dataTransferService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+        noteRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importKeepsExportedTimestamps() throws IOException {
+        ImportResult result = importNdjson("""
+                {"type":"TODOLIST","id":7,"name":"List","createdAt":"2020-01-02T03:04:05","updatedAt":"2020-02-03T04:05:06"}
+                {"type":"TODO","todoListId":7,"description":"Todo","completed":true}
+                {"type":"NOTE","title":"Note","body":"Body","createdAt":"2021-01-02T03:04:05","updatedAt":"2021-02-03T04:05:06"}
+                """);
+
+        assertThat(result.getError()).isNull();
+        TodoListSummaryView list = todoListRepository.findSummaryById(todoListRepository.findAll().get(0).getId())
+                .orElseThrow();
+        assertThat(list.getCreatedAt()).isEqualTo(LocalDateTime.of(2020, 1, 2, 3, 4, 5));
+        assertThat(list.getUpdatedAt()).isEqualTo(LocalDateTime.of(2020, 2, 3, 4, 5, 6));
+        assertThat(list.getTotalTodos()).isEqualTo(1);
+        assertThat(list.getCompletedTodos()).isEqualTo(1);
+        NoteView note = noteRepository.findViewById(noteRepository.findAll().get(0).getId()).orElseThrow();
+        assertThat(note.getCreatedAt()).isEqualTo(LocalDateTime.of(2021, 1, 2, 3, 4, 5));
+        assertThat(note.getUpdatedAt()).isEqualTo(LocalDateTime.of(2021, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    void invalidRecordReportsTheChunksAlreadyCommitted() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < DataTransferService.IMPORT_CHUNK_SIZE + 1; i++) {
+            ndjson.append("{\"type\":\"NOTE\",\"title\":\"Note ").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"type\":\"TODOLIST\"}\n");
+
+        ImportResult result = importNdjson(ndjson.toString());
+
+        assertThat(result.getError()).contains("name");
+        assertThat(result.getNotes()).isEqualTo(DataTransferService.IMPORT_CHUNK_SIZE);
+        assertThat(result.getFirstRejectedLine()).isEqualTo(DataTransferService.IMPORT_CHUNK_SIZE + 1);
+        assertThat(noteRepository.count()).isEqualTo(DataTransferService.IMPORT_CHUNK_SIZE);
+    }
+
+    @Test
+    void constraintViolationIsReportedAsRejectedRecord() throws IOException {
+        StringBuilder ndjson = new StringBuilder("{\"type\":\"TODOLIST\",\"id\":1,\"name\":\"List\"}\n");
+        for (int i = 1; i < DataTransferService.IMPORT_CHUNK_SIZE; i++) {
+            ndjson.append("{\"type\":\"TODO\",\"todoListId\":1,\"description\":\"Todo ").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"type\":\"TODO\",\"todoListId\":1,\"description\":\"").append("x".repeat(201)).append("\"}\n");
+
+        ImportResult result = importNdjson(ndjson.toString());
+
+        assertThat(result.getError()).isEqualTo("Description cannot exceed 200 characters");
+        assertThat(result.getFirstRejectedLine()).isEqualTo(DataTransferService.IMPORT_CHUNK_SIZE + 1);
+        assertThat(result.getTodoLists()).isEqualTo(1);
+        assertThat(result.getTodos()).isEqualTo(DataTransferService.IMPORT_CHUNK_SIZE - 1);
+        assertThat(todoRepository.count()).isEqualTo(DataTransferService.IMPORT_CHUNK_SIZE - 1);
+    }
+
+    private ImportResult importNdjson(String ndjson) throws IOException {
+        return dataTransferService.importFrom(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+}
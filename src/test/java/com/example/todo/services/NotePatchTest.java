@@ -0,0 +1,105 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.NotePatchRequest;
+import com.example.todo.dto.NotePatchResult;
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.NoteResponse;
+import com.example.todo.dto.NoteTextEdit;
+import com.example.todo.dto.SearchResult;
+import com.example.todo.repositories.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * In-place note edits as applied by the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotePatchTest {
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    private NoteResponse note;
+
+    @BeforeEach
+    void seed() {
+        noteRepository.deleteAllInBatch();
+        NoteRequest request = new NoteRequest();
+        request.setTitle("Note");
+        request.setBody("a😀b\nc");
+        note = noteService.createNote(request);
+    }
+
+    @Test
+    void offsetsCountCodePoints() {
+        NotePatchResult result = noteService.patchNote(note.getId(),
+                patch(note.getVersion(), edit(2, 1, "👍"), edit(5, 0, "!"))).orElseThrow();
+
+        assertThat(noteService.getNote(note.getId()).orElseThrow().getBody()).isEqualTo("a😀👍\nc!");
+        assertThat(result.getBodyLength()).isEqualTo(6);
+    }
+
+    @Test
+    void editPastTheEndIsRejected() {
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(),
+                patch(note.getVersion(), edit(1, Integer.MAX_VALUE, ""))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(), patch(note.getVersion(), edit(6, 0, "x"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nullEditIsRejected() {
+        NoteTextEdit[] edits = {edit(0, 0, "x"), null};
+
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(), patch(note.getVersion(), edits)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void patchedBodyIsReindexed() throws InterruptedException {
+        noteService.patchNote(note.getId(), patch(note.getVersion(), edit(5, 0, " zebra")));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (searchService.search("zebra", 10).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(searchService.search("zebra", 10)).extracting(SearchResult::getId).containsExactly(note.getId());
+    }
+
+    @Test
+    void staleBaseVersionIsRejected() {
+        assertThatThrownBy(() -> noteService.patchNote(note.getId(), patch(note.getVersion() + 1, edit(0, 0, "x"))))
+                .isInstanceOf(StaleVersionException.class);
+    }
+
+    private static NotePatchRequest patch(long baseVersion, NoteTextEdit... edits) {
+        NotePatchRequest request = new NotePatchRequest();
+        request.setBaseVersion(baseVersion);
+        request.setEdits(Arrays.asList(edits));
+        return request;
+    }
+
+    private static NoteTextEdit edit(int position, int deleteCount, String insert) {
+        NoteTextEdit edit = new NoteTextEdit();
+        edit.setPosition(position);
+        edit.setDeleteCount(deleteCount);
+        edit.setInsert(insert);
+        return edit;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.NotePatchRequest;
+import com.example.todo.dto.NoteRequest;
+import com.example.todo.dto.NoteResponse;
+import com.example.todo.dto.NoteTextEdit;
+import com.example.todo.metrics.ExpectedQueryCount;
+import com.example.todo.repositories.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+/**
+ * Exact SQL statement counts of NoteService calls against a seeded dataset.
+ * Counts must not depend on the number or size of notes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NoteServiceQueryCountTest {
+
+    private static final int NOTES = 20;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private NoteResponse note;
+
+    @BeforeEach
+    void seed() {
+        noteRepository.deleteAllInBatch();
+        for (int i = 0; i < NOTES; i++) {
+            NoteRequest request = new NoteRequest();
+            request.setTitle("Note " + i);
+            request.setBody("Body of note " + i + " ".repeat(1000));
+            note = noteService.createNote(request);
+        }
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getNote() {
+        noteService.getNote(note.getId());
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getNoteSummary() {
+        noteService.getNoteSummary(note.getId());
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getAllNotes() {
+        noteService.getAllNotes();
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void forEachNote() {
+        noteService.forEachNote(note -> { });
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getNoteLastModified() {
+        noteService.getNoteLastModified(note.getId());
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getNotesVersion() {
+        noteService.getNotesVersion();
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void createNote() {
+        NoteRequest request = new NoteRequest();
+        request.setTitle("Created");
+        request.setBody("Body");
+        noteService.createNote(request);
+    }
+
+    @Test
+    @ExpectedQueryCount(2)
+    void updateNoteLoadsAndUpdates() {
+        NoteRequest request = new NoteRequest();
+        request.setTitle("Updated");
+        request.setBody("New body");
+        noteService.updateNote(note.getId(), request);
+    }
+
+    @Test
+    @ExpectedQueryCount(4)
+    void patchNoteRunsOneStatementPerEdit() {
+        NoteTextEdit insert = new NoteTextEdit();
+        insert.setPosition(0);
+        insert.setInsert("Hello ");
+        NoteTextEdit delete = new NoteTextEdit();
+        delete.setPosition(6);
+        delete.setDeleteCount(4);
+
+        NotePatchRequest request = new NotePatchRequest();
+        request.setBaseVersion(note.getVersion());
+        request.setEdits(List.of(insert, delete));
+        noteService.patchNote(note.getId(), request);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void deleteNoteIsASingleStatement() {
+        noteService.deleteNote(note.getId(), null);
+    }
+}
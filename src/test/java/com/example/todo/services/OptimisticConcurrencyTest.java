@@ -0,0 +1,143 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoResponse;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent edits of the same todo from several clients. Without locks, every edit completes
+ * without waiting for the others, and none is silently lost: each either wins or is rejected.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticConcurrencyTest {
+
+    private static final int CLIENTS = 8;
+    private static final int EDITS_PER_CLIENT = 25;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private Long listId;
+    private TodoResponse todo;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+
+        TodoListRequest listRequest = new TodoListRequest();
+        listRequest.setName("List");
+        listId = todoService.createTodoList(listRequest).getId();
+
+        TodoRequest todoRequest = new TodoRequest();
+        todoRequest.setDescription("Todo");
+        todo = todoService.createTodo(listId, todoRequest).orElseThrow();
+    }
+
+    @Test
+    void editsOfTheSameVersionHaveOneWinner() throws Exception {
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(1, (client, repetition) -> {
+            TodoRequest request = new TodoRequest();
+            request.setDescription("Edit " + client);
+            request.setVersion(todo.getVersion());
+            edit(request, updated, rejected);
+        });
+
+        assertThat(updated).hasValue(1);
+        assertThat(rejected).hasValue(CLIENTS - 1);
+        assertThat(todoService.getTodo(listId, todo.getId()).orElseThrow().getVersion()).isEqualTo(todo.getVersion() + 1);
+    }
+
+    @Test
+    void unconditionalEditsAreNeverLost() throws Exception {
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        runConcurrently(EDITS_PER_CLIENT, (client, repetition) -> {
+            // Distinct descriptions, so every edit changes the todo; an unchanged todo keeps its version
+            TodoRequest request = new TodoRequest();
+            request.setDescription("Edit " + client + "." + repetition);
+            edit(request, updated, rejected);
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} contended edits in {} ms, {} rejected", CLIENTS * EDITS_PER_CLIENT,
+                Math.round(seconds * 1000), rejected.get());
+
+        assertThat(updated.get() + rejected.get()).isEqualTo(CLIENTS * EDITS_PER_CLIENT);
+        assertThat(updated.get()).isPositive();
+        // Every successful edit moved the version exactly once, so no edit overwrote another unnoticed
+        assertThat(todoRepository.findById(todo.getId()).orElseThrow().getVersion())
+                .isEqualTo(todo.getVersion() + updated.get());
+    }
+
+    private void edit(TodoRequest request, AtomicInteger updated, AtomicInteger rejected) {
+        try {
+            todoService.updateTodo(listId, todo.getId(), request);
+            updated.incrementAndGet();
+        } catch (StaleVersionException | ObjectOptimisticLockingFailureException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    private interface ClientAction {
+        void run(int client, int repetition);
+    }
+
+    /**
+     * Run {@code repetitions} actions on each of {@code CLIENTS} threads, all released at the same time.
+     */
+    private static void runConcurrently(int repetitions, ClientAction action) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                int client = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < repetitions; j++) {
+                        action.run(client, j);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
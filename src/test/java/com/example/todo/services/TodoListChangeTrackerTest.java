@@ -0,0 +1,91 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.dto.TodoListResponse;
+import com.example.todo.entities.TodoList;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List counters and update time after todo changes that are coalesced by {@link TodoListChangeTracker}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoListChangeTrackerTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private TodoListResponse list;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+
+        TodoListRequest request = new TodoListRequest();
+        request.setName("List");
+        list = todoService.createTodoList(request);
+    }
+
+    @Test
+    void batchAdjustsCountersAndTouchesList() {
+        TodoList before = todoListRepository.findById(list.getId()).orElseThrow();
+        List<TodoBatchResult> created = todoService.applyTodoBatch(list.getId(), creations(20)).orElseThrow();
+
+        List<TodoBatchOperation> completions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TodoBatchOperation operation = new TodoBatchOperation();
+            operation.setType(TodoBatchOperation.Type.COMPLETE);
+            operation.setTodoId(created.get(i).getTodo().getId());
+            completions.add(operation);
+        }
+        todoService.applyTodoBatch(list.getId(), completions);
+
+        TodoList stored = todoListRepository.findById(list.getId()).orElseThrow();
+        assertThat(stored.getTotalTodos()).isEqualTo(20);
+        assertThat(stored.getCompletedTodos()).isEqualTo(5);
+        assertThat(stored.getUpdatedAt()).isAfter(before.getUpdatedAt());
+    }
+
+    @Test
+    void failedOperationsDoNotTouchList() {
+        TodoList before = todoListRepository.findById(list.getId()).orElseThrow();
+        TodoBatchOperation operation = new TodoBatchOperation();
+        operation.setType(TodoBatchOperation.Type.COMPLETE);
+        operation.setTodoId(Long.MAX_VALUE);
+        todoService.applyTodoBatch(list.getId(), List.of(operation));
+
+        TodoList stored = todoListRepository.findById(list.getId()).orElseThrow();
+        assertThat(stored.getUpdatedAt()).isEqualTo(before.getUpdatedAt());
+    }
+
+    private static List<TodoBatchOperation> creations(int count) {
+        List<TodoBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TodoBatchOperation operation = new TodoBatchOperation();
+            operation.setType(TodoBatchOperation.Type.CREATE);
+            operation.setDescription("Todo " + i);
+            operations.add(operation);
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.metrics.ExpectedQueryCount;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Set-based and soft deletion of todo lists.
+ */
+class TodoListDeletionTest {
+
+    private static final int TODOS = 200;
+
+    abstract static class Fixture {
+
+        @Autowired
+        TodoService todoService;
+
+        @Autowired
+        TodoListRepository todoListRepository;
+
+        @Autowired
+        TodoRepository todoRepository;
+
+        Long listId;
+        Long todoId;
+
+        @BeforeEach
+        void seed() {
+            todoRepository.deleteAllInBatch();
+            todoListRepository.deleteAllInBatch();
+
+            TodoListRequest request = new TodoListRequest();
+            request.setName("List");
+            listId = todoService.createTodoList(request).getId();
+
+            List<TodoBatchOperation> operations = new ArrayList<>();
+            for (int i = 0; i < TODOS; i++) {
+                TodoBatchOperation operation = new TodoBatchOperation();
+                operation.setType(TodoBatchOperation.Type.CREATE);
+                operation.setDescription("Todo " + i);
+                operations.add(operation);
+            }
+            List<TodoBatchResult> results = todoService.applyTodoBatch(listId, operations).orElseThrow();
+            todoId = results.get(0).getTodo().getId();
+        }
+    }
+
+    @Nested
+    @SpringBootTest
+    @ActiveProfiles("test")
+    class HardDelete extends Fixture {
+
+        @Test
+        @ExpectedQueryCount(2)
+        void deletesTodosAndListWithOneStatementEach() {
+            assertThat(todoService.deleteTodoList(listId, null)).isTrue();
+        }
+
+        @Test
+        void removesAllRows() {
+            todoService.deleteTodoList(listId, null);
+
+            assertThat(todoListRepository.count()).isZero();
+            assertThat(todoRepository.count()).isZero();
+        }
+
+        @Test
+        void missingListIsNotFound() {
+            assertThat(todoService.deleteTodoList(Long.MAX_VALUE, null)).isFalse();
+        }
+    }
+
+    @Nested
+    @SpringBootTest
+    @ActiveProfiles("test")
+    @TestPropertySource(properties = "todo.lists.soft-delete=true")
+    class SoftDelete extends Fixture {
+
+        @Autowired
+        TodoListPurgeJob purgeJob;
+
+        @Test
+        @ExpectedQueryCount(1)
+        void marksListWithOneStatement() {
+            assertThat(todoService.deleteTodoList(listId, null)).isTrue();
+        }
+
+        @Test
+        void hidesListAndTodosUntilPurged() {
+            todoService.deleteTodoList(listId, null);
+
+            assertThat(todoService.getTodoList(listId)).isEmpty();
+            assertThat(todoService.getAllTodoLists()).isEmpty();
+            assertThat(todoService.getTodos(listId)).isEmpty();
+            assertThat(todoService.getTodo(listId, todoId)).isEmpty();
+            assertThat(todoService.toggleTodo(listId, todoId)).isEmpty();
+            assertThat(todoService.deleteTodoList(listId, null)).isFalse();
+            assertThat(todoRepository.count()).isEqualTo(TODOS);
+
+            assertThat(purgeJob.purgeDeletedLists()).isEqualTo(1);
+            assertThat(todoRepository.count()).isZero();
+            assertThat(todoListRepository.findSoftDeletedIds(PageRequest.of(0, 10))).isEmpty();
+        }
+    }
+}
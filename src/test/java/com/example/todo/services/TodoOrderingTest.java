@@ -0,0 +1,111 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.dto.TodoResponse;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Todo order within a list as returned by the database after moves.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoOrderingTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private Long listId;
+    private List<Long> ids;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+
+        TodoListRequest request = new TodoListRequest();
+        request.setName("List");
+        listId = todoService.createTodoList(request).getId();
+
+        List<TodoBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TodoBatchOperation operation = new TodoBatchOperation();
+            operation.setType(TodoBatchOperation.Type.CREATE);
+            operation.setDescription("Todo " + i);
+            operations.add(operation);
+        }
+        ids = todoService.applyTodoBatch(listId, operations).orElseThrow().stream()
+                .map(TodoBatchResult::getTodo)
+                .map(TodoResponse::getId)
+                .toList();
+    }
+
+    @Test
+    void todosKeepCreationOrder() {
+        assertThat(order()).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void moveAfterAnotherTodo() {
+        todoService.moveTodo(listId, ids.get(4), ids.get(1));
+
+        assertThat(order()).containsExactly(ids.get(0), ids.get(1), ids.get(4), ids.get(2), ids.get(3));
+    }
+
+    @Test
+    void moveToTop() {
+        todoService.moveTodo(listId, ids.get(3), null);
+
+        assertThat(order()).containsExactly(ids.get(3), ids.get(0), ids.get(1), ids.get(2), ids.get(4));
+    }
+
+    @Test
+    void repeatedMovesIntoTheSameGapRenumberTheList() {
+        // Each move halves the gap after the first todo, far more often than the gap allows
+        for (int i = 0; i < 40; i++) {
+            Long moved = i % 2 == 0 ? ids.get(3) : ids.get(4);
+            todoService.moveTodo(listId, moved, ids.get(0));
+        }
+
+        assertThat(order()).containsExactly(ids.get(0), ids.get(4), ids.get(3), ids.get(1), ids.get(2));
+    }
+
+    @Test
+    void completedTodosFollowPendingOnes() {
+        todoService.markTodoAsComplete(listId, ids.get(0));
+
+        assertThat(order()).containsExactly(ids.get(1), ids.get(2), ids.get(3), ids.get(4), ids.get(0));
+        assertThat(todoService.getTodoList(listId).orElseThrow().getTodos())
+                .extracting(TodoResponse::getId)
+                .containsExactly(ids.get(1), ids.get(2), ids.get(3), ids.get(4), ids.get(0));
+    }
+
+    @Test
+    void moveAfterTodoOfAnotherListIsRejected() {
+        assertThatThrownBy(() -> todoService.moveTodo(listId, ids.get(0), Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> order() {
+        return todoService.getTodos(listId).stream().map(TodoResponse::getId).toList();
+    }
+}
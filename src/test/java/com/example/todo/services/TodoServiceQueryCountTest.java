@@ -0,0 +1,151 @@
+package com.example.todo.services;
+
+import com.example.todo.dto.TodoBatchOperation;
+import com.example.todo.dto.TodoBatchResult;
+import com.example.todo.dto.TodoListRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.metrics.ExpectedQueryCount;
+import com.example.todo.repositories.TodoListRepository;
+import com.example.todo.repositories.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact SQL statement counts of TodoService operations against a seeded dataset.
+ * Counts must not depend on the number of lists or todos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoServiceQueryCountTest {
+
+    private static final int LISTS = 10;
+    private static final int TODOS_PER_LIST = 10;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private Long listId;
+    private Long todoId;
+    private Long lastTodoId;
+
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAllInBatch();
+        todoListRepository.deleteAllInBatch();
+
+        for (int i = 0; i < LISTS; i++) {
+            TodoListRequest request = new TodoListRequest();
+            request.setName("List " + i);
+            listId = todoService.createTodoList(request).getId();
+
+            List<TodoBatchOperation> operations = new ArrayList<>();
+            for (int j = 0; j < TODOS_PER_LIST; j++) {
+                TodoBatchOperation operation = new TodoBatchOperation();
+                operation.setType(TodoBatchOperation.Type.CREATE);
+                operation.setDescription("Todo " + j);
+                operations.add(operation);
+            }
+            List<TodoBatchResult> results = todoService.applyTodoBatch(listId, operations).orElseThrow();
+            todoId = results.get(0).getTodo().getId();
+            lastTodoId = results.get(results.size() - 1).getTodo().getId();
+        }
+    }
+
+    @Test
+    @ExpectedQueryCount(2)
+    void getTodoListLoadsListAndTodos() {
+        todoService.getTodoList(listId);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getTodoListSummaryReadsCountsWithoutTodos() {
+        todoService.getTodoListSummary(listId);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getAllTodoListsFetchesTodosInTheSameQuery() {
+        todoService.getAllTodoLists();
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void forEachTodoListReadsListsAndTodosFromOneCursor() {
+        todoService.forEachTodoList(list -> { });
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getTodos() {
+        todoService.getTodos(listId);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getTodosByCompletion() {
+        todoService.getTodos(listId, false);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getTodo() {
+        todoService.getTodo(listId, todoId);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getTodoListLastModified() {
+        todoService.getTodoListLastModified(listId);
+    }
+
+    @Test
+    @ExpectedQueryCount(1)
+    void getTodoListsVersion() {
+        todoService.getTodoListsVersion();
+    }
+
+    @Test
+    @ExpectedQueryCount(3)
+    void toggleTodoUpdatesTodoAndListWithoutLoadingThem() {
+        todoService.toggleTodo(listId, todoId);
+    }
+
+    @Test
+    @ExpectedQueryCount(3)
+    void updateTodoTouchesListWithoutLoadingIt() {
+        TodoRequest request = new TodoRequest();
+        request.setDescription("Edited");
+        todoService.updateTodo(listId, todoId, request);
+    }
+
+    @Test
+    @ExpectedQueryCount(3)
+    void markTodoAsCompleteAdjustsListInOneUpdate() {
+        todoService.markTodoAsComplete(listId, todoId);
+    }
+
+    @Test
+    @ExpectedQueryCount(3)
+    void deleteTodoAdjustsListInOneUpdate() {
+        todoService.deleteTodo(listId, todoId, null);
+    }
+
+    @Test
+    @ExpectedQueryCount(5)
+    void moveTodoWritesOnlyTheMovedRowAndTheListTimestamp() {
+        todoService.moveTodo(listId, lastTodoId, todoId);
+    }
+}